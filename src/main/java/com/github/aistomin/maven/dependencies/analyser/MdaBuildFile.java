@@ -17,6 +17,7 @@ package com.github.aistomin.maven.dependencies.analyser;
 
 import com.github.aistomin.maven.browser.MvnArtifactVersion;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
@@ -55,4 +56,24 @@ public interface MdaBuildFile {
      */
     List<MvnArtifactVersion> plugins()
         throws IOException, XmlPullParserException;
+
+    /**
+     * Extract all the project's artifacts that should be analysed: the
+     * parent, the dependencies and the plugins.
+     *
+     * @return The list of the artifacts.
+     * @throws IOException If the file is not found or corrupted.
+     * @throws XmlPullParserException If file parsing was not successful.
+     */
+    default List<MvnArtifactVersion> artifacts()
+        throws IOException, XmlPullParserException {
+        final List<MvnArtifactVersion> artifacts = new ArrayList<>();
+        final MvnArtifactVersion parent = this.parent();
+        if (parent != null) {
+            artifacts.add(parent);
+        }
+        artifacts.addAll(this.dependencies());
+        artifacts.addAll(this.plugins());
+        return artifacts;
+    }
 }
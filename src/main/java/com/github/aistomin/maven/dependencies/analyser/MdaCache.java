@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifactVersion;
+import com.github.aistomin.maven.browser.MvnArtifact;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnException;
+import com.github.aistomin.maven.browser.MvnPackagingType;
+import com.github.aistomin.maven.browser.MvnRepo;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Repository that keeps the newer versions of the artifacts in a local file,
+ * so the repeated analysis of the same artifacts does not need the network.
+ * Only {@link #findVersionsNewerThan(MvnArtifactVersion)} is cached, the rest
+ * of the methods go straight to the origin repository. The artifacts that do
+ * not exist in the origin repository are cached too, so the internal
+ * artifacts do not cost a network round trip on every run. The entries are
+ * kept per repository URL, so switching the repository does not reuse the
+ * answers of another one. {@link #check(List)} serves the cached artifacts
+ * right away and passes only the rest to {@link MdaLookup}, so the instant
+ * answers of the cache do not distort the latency seen by its limiter.
+ *
+ * @since 4.3
+ */
+public final class MdaCache implements MvnRepo, MdaCheck {
+
+    /**
+     * The default time to live of the cached entries.
+     */
+    private static final Duration TTL = Duration.ofDays(1);
+
+    /**
+     * The separator of the timestamp and the versions in the cached entry.
+     */
+    private static final String STAMP = "|";
+
+    /**
+     * The separator of the versions in the cached entry.
+     */
+    private static final String SEPARATOR = ";";
+
+    /**
+     * The marker of the cached entry of the artifact that does not exist in
+     * the origin repository.
+     */
+    private static final String MISSING = "!";
+
+    /**
+     * The origin repository.
+     */
+    private final MvnRepo origin;
+
+    /**
+     * The URL of the origin repository.
+     */
+    private final String url;
+
+    /**
+     * The cache file.
+     */
+    private final File file;
+
+    /**
+     * The time to live of the cached entries.
+     */
+    private final Duration ttl;
+
+    /**
+     * The cached entries, loaded on the first lookup.
+     */
+    private Properties entries;
+
+    /**
+     * Ctor.
+     *
+     * @param repo The origin repository.
+     * @param location The URL of the origin repository.
+     * @param cache The cache file.
+     */
+    public MdaCache(
+        final MvnRepo repo, final String location, final File cache
+    ) {
+        this(repo, location, cache, TTL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repo The origin repository.
+     * @param location The URL of the origin repository.
+     * @param cache The cache file.
+     * @param expiration The time to live of the cached entries.
+     */
+    public MdaCache(
+        final MvnRepo repo, final String location, final File cache,
+        final Duration expiration
+    ) {
+        this.origin = repo;
+        this.url = location;
+        this.file = cache;
+        this.ttl = expiration;
+    }
+
+    @Override
+    public List<MvnArtifact> findArtifacts(final String text)
+        throws MvnException {
+        return this.origin.findArtifacts(text);
+    }
+
+    @Override
+    public List<MvnArtifact> findArtifacts(
+        final String text, final Integer start, final Integer rows
+    ) throws MvnException {
+        return this.origin.findArtifacts(text, start, rows);
+    }
+
+    @Override
+    public List<MvnArtifactVersion> findVersions(final MvnArtifact artifact)
+        throws MvnException {
+        return this.origin.findVersions(artifact);
+    }
+
+    @Override
+    public List<MvnArtifactVersion> findVersions(
+        final MvnArtifact artifact, final Integer start, final Integer rows
+    ) throws MvnException {
+        return this.origin.findVersions(artifact, start, rows);
+    }
+
+    @Override
+    public List<MvnArtifactVersion> findVersionsNewerThan(
+        final MvnArtifactVersion version
+    ) throws MvnException {
+        final String entry = this.fresh(version);
+        final List<MvnArtifactVersion> newer;
+        if (entry == null) {
+            newer = this.lookup(version);
+        } else if (entry.startsWith(MISSING)) {
+            throw new IllegalStateException(entry.substring(1));
+        } else {
+            newer = versions(version, entry);
+        }
+        return newer;
+    }
+
+    @Override
+    public MdaResult check(final List<MvnArtifactVersion> versions)
+        throws InterruptedException {
+        final Map<MvnArtifactVersion, String> hits = new HashMap<>();
+        final List<MvnArtifactVersion> misses = new ArrayList<>();
+        for (final MvnArtifactVersion version : versions) {
+            final MdaCacheEvent event = new MdaCacheEvent();
+            event.begin();
+            final String entry = this.fresh(version);
+            event.result(version, entry != null);
+            if (entry == null) {
+                misses.add(version);
+            } else {
+                hits.put(version, entry);
+            }
+        }
+        final MdaResult looked = new MdaLookup(this).check(misses);
+        final MdaResult result = new MdaResult();
+        for (final MvnArtifactVersion version : versions) {
+            final String entry = hits.get(version);
+            if (entry == null) {
+                if (looked.skipped().containsKey(version)) {
+                    result.addSkipped(
+                        version, looked.skipped().get(version)
+                    );
+                } else if (looked.outdated().containsKey(version)) {
+                    result.addOutdated(
+                        version, looked.outdated().get(version)
+                    );
+                }
+            } else if (entry.startsWith(MISSING)) {
+                result.addSkipped(version, entry.substring(1));
+            } else {
+                final List<MvnArtifactVersion> newer =
+                    versions(version, entry);
+                if (!newer.isEmpty()) {
+                    result.addOutdated(version, newer);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<MvnArtifactVersion> findVersionsOlderThan(
+        final MvnArtifactVersion version
+    ) throws MvnException {
+        return this.origin.findVersionsOlderThan(version);
+    }
+
+    /**
+     * Write the cached entries to the cache file. The expired entries are
+     * dropped, so the file does not grow with every new version. The file is
+     * replaced atomically, so the processes that share it never read it half
+     * written.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    public void save() throws IOException {
+        final Properties cached = this.entries();
+        for (final String key : cached.stringPropertyNames()) {
+            if (this.unexpired(cached.getProperty(key)) == null) {
+                cached.remove(key);
+            }
+        }
+        final Path target = this.file.getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        final Path temp = Files.createTempFile(
+            target.getParent(), target.getFileName().toString(), ".tmp"
+        );
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cached.store(out, "Maven Dependencies Analyser cache");
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Look up the newer versions of the artifact in the origin repository and
+     * cache them. The answer that the artifact does not exist in the
+     * repository is cached as well.
+     *
+     * @param version The artifact's version.
+     * @return The newer versions.
+     * @throws MvnException If the lookup was not successful.
+     */
+    private List<MvnArtifactVersion> lookup(final MvnArtifactVersion version)
+        throws MvnException {
+        final String stamp = String.join(
+            "", String.valueOf(System.currentTimeMillis()), STAMP
+        );
+        try {
+            final List<MvnArtifactVersion> newer =
+                this.origin.findVersionsNewerThan(version);
+            this.entries().setProperty(
+                this.key(version),
+                String.join(
+                    "",
+                    stamp,
+                    newer.stream()
+                        .map(MvnArtifactVersion::name)
+                        .collect(Collectors.joining(SEPARATOR))
+                )
+            );
+            return newer;
+        } catch (final IllegalStateException ex) {
+            this.entries().setProperty(
+                this.key(version),
+                String.join("", stamp, MISSING, ex.getMessage())
+            );
+            throw ex;
+        } catch (final MvnException ex) {
+            if (ex.getCause() instanceof FileNotFoundException) {
+                this.entries().setProperty(
+                    this.key(version),
+                    String.join("", stamp, MISSING, ex.getMessage())
+                );
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Find the cached entry of the artifact that has not expired yet. The
+     * entries with a corrupted timestamp are treated as missing.
+     *
+     * @param version The artifact's version.
+     * @return The cached entry without the timestamp or null if there is no
+     *  valid entry.
+     */
+    private String fresh(final MvnArtifactVersion version) {
+        return this.unexpired(this.entries().getProperty(this.key(version)));
+    }
+
+    /**
+     * Strip the timestamp of the cached entry that has not expired yet.
+     *
+     * @param entry The cached entry or null.
+     * @return The cached entry without the timestamp or null if the entry is
+     *  missing, expired or corrupted.
+     */
+    private String unexpired(final String entry) {
+        String fresh = null;
+        final int idx;
+        if (entry == null) {
+            idx = -1;
+        } else {
+            idx = entry.indexOf(STAMP);
+        }
+        if (idx > 0) {
+            try {
+                if (System.currentTimeMillis()
+                    - Long.parseLong(entry.substring(0, idx))
+                    < this.ttl.toMillis()) {
+                    fresh = entry.substring(idx + 1);
+                }
+            } catch (final NumberFormatException ignored) {
+                fresh = null;
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * The key of the cached entry of the artifact.
+     *
+     * @param version The artifact's version.
+     * @return The key.
+     */
+    private String key(final MvnArtifactVersion version) {
+        return String.join(" ", this.url, version.identifier());
+    }
+
+    /**
+     * Parse the newer versions of the cached entry.
+     *
+     * @param version The artifact's version.
+     * @param entry The cached entry without the timestamp.
+     * @return The newer versions.
+     */
+    private static List<MvnArtifactVersion> versions(
+        final MvnArtifactVersion version, final String entry
+    ) {
+        final List<MvnArtifactVersion> newer = new ArrayList<>();
+        for (final String name : entry.split(SEPARATOR)) {
+            if (!name.isEmpty()) {
+                newer.add(
+                    new MavenArtifactVersion(
+                        version.artifact(), name, MvnPackagingType.JAR, null
+                    )
+                );
+            }
+        }
+        return newer;
+    }
+
+    /**
+     * The cached entries. They are read from the cache file on the first call.
+     *
+     * @return The entries.
+     */
+    private synchronized Properties entries() {
+        if (this.entries == null) {
+            this.entries = new Properties();
+            if (this.file.exists()) {
+                try (InputStream in =
+                    Files.newInputStream(this.file.toPath())) {
+                    this.entries.load(in);
+                } catch (final IOException ex) {
+                    this.entries.clear();
+                }
+            }
+        }
+        return this.entries;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event that is emitted for every lookup in the local
+ * cache of the newer versions.
+ *
+ * @since 4.3
+ */
+@Name("com.github.aistomin.mda.Cache")
+@Label("Cache Lookup")
+@Category("Maven Dependencies Analyser")
+@Description("Lookup of the newer versions of an artifact in the local cache")
+public final class MdaCacheEvent extends Event {
+
+    /**
+     * The coordinate of the artifact (groupId:artifactId:version).
+     */
+    @Label("Coordinate")
+    private String coordinate;
+
+    /**
+     * Was the artifact found in the cache?
+     */
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Record the result of the lookup.
+     *
+     * @param version The artifact's version that was looked up.
+     * @param found Was the artifact found in the cache?
+     */
+    public void result(final MvnArtifactVersion version, final boolean found) {
+        if (this.shouldCommit()) {
+            this.coordinate = version.identifier();
+            this.hit = found;
+            this.commit();
+        }
+    }
+}
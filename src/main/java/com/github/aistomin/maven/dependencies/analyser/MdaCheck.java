@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.util.List;
+
+/**
+ * The check of the newer versions of the artifacts.
+ *
+ * @since 4.3
+ */
+public interface MdaCheck {
+
+    /**
+     * Look up the newer versions of the artifacts.
+     *
+     * @param versions The artifacts' versions.
+     * @return The result of the analysis.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    MdaResult check(List<MvnArtifactVersion> versions)
+        throws InterruptedException;
+}
@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnRepo;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Standalone command line entry point of the analyser. It runs the same
+ * analysis as {@link MdaMojo} without the Maven runtime, so it starts fast
+ * enough for a git pre-commit hook. Usage:
+ * <pre>
+ * java -cp ... com.github.aistomin.maven.dependencies.analyser.MdaCli \
+ *     [--level ERROR|WARNING] [--cache &lt;file&gt;] [--repo &lt;url&gt;] \
+ *     [--workers &lt;count&gt;] [pom.xml ...]
+ * </pre>
+ * With "--workers" the unique artifacts of all the given pom.xml files are
+ * split between the worker processes (see {@link MdaCoordinator}) and every
+ * worker keeps its own cache file next to the given one. The workers are
+ * started with the same JVM options and system properties (proxies, trust
+ * stores, heap size) as this process, except for the agents. The worker that
+ * does not start in time only costs its own shard, its artifacts are reported
+ * as skipped. The process exits with 0 if the check passed, 1 if there are
+ * outdated artifacts and the level is ERROR, 2 if the analysis failed and 3
+ * if some artifacts could not be analysed and the level is ERROR, the same
+ * way {@link MdaMojo} fails the build.
+ *
+ * @since 4.3
+ */
+public final class MdaCli {
+
+    /**
+     * The exit code of the failed check.
+     */
+    public static final int OUTDATED = 1;
+
+    /**
+     * The exit code of the failed analysis.
+     */
+    public static final int FAILED = 2;
+
+    /**
+     * The exit code of the check that could not analyse all the artifacts.
+     */
+    public static final int SKIPPED = 3;
+
+    /**
+     * The URL of Maven Central.
+     */
+    private static final String CENTRAL = "https://repo1.maven.org/maven2";
+
+    /**
+     * How long we wait for all the worker processes to exit, in seconds.
+     */
+    private static final long EXIT = 10;
+
+    /**
+     * How long we wait for all the worker processes to start.
+     */
+    private static final Duration START = Duration.ofSeconds(30);
+
+    /**
+     * The JVM options that must not be passed to the worker processes: the
+     * agents, for example the debugger, can not be shared between processes.
+     */
+    private static final Pattern AGENT = Pattern.compile(
+        "-(?:agentlib|agentpath|javaagent|Xrunjdwp|Xdebug).*"
+    );
+
+    /**
+     * The output stream.
+     */
+    private final PrintStream out;
+
+    /**
+     * The command that starts a worker process, without the arguments.
+     */
+    private final List<String> launcher;
+
+    /**
+     * Ctor.
+     *
+     * @param stream The output stream.
+     */
+    public MdaCli(final PrintStream stream) {
+        this(
+            stream,
+            launcher(ManagementFactory.getRuntimeMXBean().getInputArguments())
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param stream The output stream.
+     * @param command The command that starts a worker process, without the
+     *  arguments.
+     */
+    MdaCli(final PrintStream stream, final List<String> command) {
+        this.out = stream;
+        this.launcher = command;
+    }
+
+    /**
+     * Run the analyser.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(final String... args) {
+        System.exit(new MdaCli(System.out).run(args));
+    }
+
+    /**
+     * Analyse the project.
+     *
+     * @param args Command line arguments.
+     * @return The exit code.
+     */
+    public int run(final String... args) {
+        final List<String> options = new ArrayList<>();
+        final List<MdaBuildFile> files = new ArrayList<>();
+        FailureLevel level = FailureLevel.ERROR;
+        File cache = null;
+        String url = null;
+        int workers = 0;
+        boolean worker = false;
+        int code = 0;
+        try {
+            for (int idx = 0; idx < args.length; idx += 1) {
+                if ("--worker".equals(args[idx])) {
+                    worker = true;
+                } else if (args[idx].startsWith("-")) {
+                    if (idx + 1 == args.length) {
+                        throw new IllegalArgumentException(
+                            String.format("No value of %s", args[idx])
+                        );
+                    }
+                    options.add(args[idx]);
+                    idx += 1;
+                    options.add(args[idx]);
+                } else {
+                    files.add(new MdaPom(args[idx]));
+                }
+            }
+            for (int idx = 0; idx < options.size(); idx += 2) {
+                final String value = options.get(idx + 1);
+                switch (options.get(idx)) {
+                    case "--level":
+                        level = FailureLevel.valueOf(value);
+                        break;
+                    case "--cache":
+                        cache = new File(value);
+                        break;
+                    case "--repo":
+                        url = value;
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(value);
+                        if (workers < 1) {
+                            throw new IllegalArgumentException(
+                                String.format(
+                                    "Invalid amount of workers: %s", value
+                                )
+                            );
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException(
+                            String.format(
+                                "Unknown option: %s", options.get(idx)
+                            )
+                        );
+                }
+            }
+            if (files.isEmpty()) {
+                files.add(new MdaPom("pom.xml"));
+            }
+            final MvnRepo repository = MdaLookup.repository(url);
+            if (worker) {
+                this.work(repository, url, cache);
+            } else if (workers > 0) {
+                code = this.report(
+                    this.distribute(artifacts(files), workers, cache, url),
+                    level
+                );
+            } else {
+                code = this.report(
+                    this.analyse(artifacts(files), repository, url, cache),
+                    level
+                );
+            }
+        } catch (final Exception error) {
+            this.out.printf("Error occurred: %s%n", error.getMessage());
+            code = FAILED;
+        }
+        return code;
+    }
+
+    /**
+     * Analyse the artifacts in this process.
+     *
+     * @param artifacts The artifacts.
+     * @param repository The repository.
+     * @param url The URL of the repository or null for Maven Central.
+     * @param cache The cache file or null if the cache is not used.
+     * @return The result of the analysis.
+     * @throws Exception If the analysis failed.
+     */
+    private MdaResult analyse(
+        final List<MvnArtifactVersion> artifacts, final MvnRepo repository,
+        final String url, final File cache
+    ) throws Exception {
+        final MdaResult result;
+        if (cache == null) {
+            result = new MdaLookup(repository).check(artifacts);
+        } else {
+            final MdaCache cached = cache(repository, url, cache);
+            result = cached.check(artifacts);
+            cached.save();
+        }
+        return result;
+    }
+
+    /**
+     * Analyse the artifacts in the worker processes.
+     *
+     * @param artifacts The artifacts.
+     * @param count The amount of the workers.
+     * @param cache The cache file or null if the cache is not used.
+     * @param url The URL of the repository or null for Maven Central.
+     * @return The result of the analysis.
+     * @throws Exception If the analysis failed.
+     */
+    private MdaResult distribute(
+        final List<MvnArtifactVersion> artifacts, final int count,
+        final File cache, final String url
+    ) throws Exception {
+        final List<Process> processes = new ArrayList<>(count);
+        boolean done = false;
+        try {
+            for (int idx = 0; idx < count; idx += 1) {
+                final List<String> command = new ArrayList<>(this.launcher);
+                command.add("--worker");
+                if (cache != null) {
+                    command.add("--cache");
+                    command.add(
+                        String.format("%s.%d", cache.getPath(), idx)
+                    );
+                }
+                if (url != null) {
+                    command.add("--repo");
+                    command.add(url);
+                }
+                processes.add(
+                    new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start()
+                );
+            }
+            final MdaResult result =
+                new MdaCoordinator(addresses(processes)).check(artifacts);
+            done = true;
+            return result;
+        } finally {
+            stop(processes, done);
+        }
+    }
+
+    /**
+     * Serve one shard of the distributed analysis. The port of the worker is
+     * printed to the output stream, so the coordinator can connect to it.
+     *
+     * @param repository The repository.
+     * @param url The URL of the repository or null for Maven Central.
+     * @param cache The cache file or null if the cache is not used.
+     * @throws Exception If the analysis failed.
+     */
+    private void work(
+        final MvnRepo repository, final String url, final File cache
+    ) throws Exception {
+        try (ServerSocket server =
+            new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            this.out.println(server.getLocalPort());
+            this.out.flush();
+            if (cache == null) {
+                new MdaWorker(new MdaLookup(repository)).serve(server);
+            } else {
+                final MdaCache cached = cache(repository, url, cache);
+                new MdaWorker(cached).serve(server);
+                cached.save();
+            }
+        }
+    }
+
+    /**
+     * Print the report of the analysis.
+     *
+     * @param result The result of the analysis.
+     * @param level Failure level.
+     * @return The exit code.
+     */
+    private int report(final MdaResult result, final FailureLevel level) {
+        for (
+            final Map.Entry<MvnArtifactVersion, String> item
+                : result.skipped().entrySet()
+        ) {
+            this.out.printf(
+                "Can not analyse %s. %s%n", item.getKey(), item.getValue()
+            );
+        }
+        int code = 0;
+        if (!result.outdated().isEmpty()) {
+            this.out.print(result.report());
+            if (FailureLevel.ERROR.equals(level)) {
+                code = OUTDATED;
+            }
+        } else if (!result.skipped().isEmpty()) {
+            this.out.println(
+                "Not all the dependencies were checked. See the output above."
+            );
+            if (FailureLevel.ERROR.equals(level)) {
+                code = SKIPPED;
+            }
+        } else {
+            this.out.println("All the dependencies are up to date.");
+        }
+        return code;
+    }
+
+    /**
+     * The command that starts a worker process with the JVM options of this
+     * process.
+     *
+     * @param options The JVM options of this process.
+     * @return The command without the arguments.
+     */
+    static List<String> launcher(final List<String> options) {
+        final List<String> command = new ArrayList<>();
+        command.add(
+            Paths.get(System.getProperty("java.home"), "bin", "java")
+                .toString()
+        );
+        for (final String option : options) {
+            if (!AGENT.matcher(option).matches()) {
+                command.add(option);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MdaCli.class.getName());
+        return command;
+    }
+
+    /**
+     * Read the addresses of the worker processes. The workers that do not
+     * report their address in time are destroyed.
+     *
+     * @param processes The worker processes.
+     * @return The addresses, null for the workers that did not start.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private static List<InetSocketAddress> addresses(
+        final List<Process> processes
+    ) throws InterruptedException {
+        final long deadline = System.nanoTime() + START.toNanos();
+        final List<InetSocketAddress> addresses =
+            new ArrayList<>(processes.size());
+        try (ExecutorService executor =
+            Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<InetSocketAddress>> ports =
+                new ArrayList<>(processes.size());
+            for (final Process process : processes) {
+                ports.add(executor.submit(() -> address(process)));
+            }
+            for (int idx = 0; idx < processes.size(); idx += 1) {
+                InetSocketAddress address = null;
+                try {
+                    address = ports.get(idx).get(
+                        deadline - System.nanoTime(), TimeUnit.NANOSECONDS
+                    );
+                } catch (final ExecutionException ex) {
+                    address = null;
+                } catch (final TimeoutException ex) {
+                    processes.get(idx).destroyForcibly();
+                }
+                addresses.add(address);
+            }
+        }
+        return addresses;
+    }
+
+    /**
+     * Read the address of the worker process from its output.
+     *
+     * @param process The worker process.
+     * @return The address or null if the worker did not start.
+     * @throws IOException If the output can not be read.
+     */
+    private static InetSocketAddress address(final Process process)
+        throws IOException {
+        final String port = new BufferedReader(
+            new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8
+            )
+        ).readLine();
+        InetSocketAddress address = null;
+        if (port != null && port.trim().matches("\\d+")) {
+            address = new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())
+            );
+        }
+        return address;
+    }
+
+    /**
+     * Stop the worker processes. After the successful analysis the workers
+     * get some time to save their caches and exit, otherwise they are
+     * destroyed right away.
+     *
+     * @param processes The worker processes.
+     * @param graceful Whether the workers may exit on their own.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private static void stop(
+        final List<Process> processes, final boolean graceful
+    ) throws InterruptedException {
+        final long deadline =
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(EXIT);
+        for (final Process process : processes) {
+            if (!graceful || !process.waitFor(
+                deadline - System.nanoTime(), TimeUnit.NANOSECONDS
+            )) {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * The cache of the repository.
+     *
+     * @param repository The repository.
+     * @param url The URL of the repository or null for Maven Central.
+     * @param file The cache file.
+     * @return The cache.
+     */
+    private static MdaCache cache(
+        final MvnRepo repository, final String url, final File file
+    ) {
+        final String location;
+        if (url == null) {
+            location = CENTRAL;
+        } else {
+            location = url;
+        }
+        return new MdaCache(repository, location, file);
+    }
+
+    /**
+     * Extract the unique artifacts of the build files.
+     *
+     * @param files The build files.
+     * @return The artifacts.
+     * @throws Exception If a build file can not be parsed.
+     */
+    private static List<MvnArtifactVersion> artifacts(
+        final List<MdaBuildFile> files
+    ) throws Exception {
+        final Set<MvnArtifactVersion> artifacts = new LinkedHashSet<>();
+        for (final MdaBuildFile file : files) {
+            artifacts.addAll(file.artifacts());
+        }
+        return new ArrayList<>(artifacts);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifactVersion;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnPackagingType;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The coordinator of the distributed analysis. It splits the unique artifacts
+ * between the workers with {@link MdaShards}, so every worker always gets the
+ * same artifacts and can keep a warm cache for them, sends the shards to the
+ * workers (see {@link MdaWorker}) and merges their answers into one result.
+ * The artifacts of the worker that failed or did not start are skipped, the
+ * rest of the shards are still analysed.
+ *
+ * @since 4.3
+ */
+public final class MdaCoordinator implements MdaCheck {
+
+    /**
+     * How long we wait for a worker to accept the connection, in
+     * milliseconds.
+     */
+    private static final int CONNECT = 10_000;
+
+    /**
+     * How long we wait for the answers of a worker, in milliseconds. The
+     * worker answers when it has looked up its whole shard.
+     */
+    private static final int ANSWER = 600_000;
+
+    /**
+     * The addresses of the workers.
+     */
+    private final List<InetSocketAddress> workers;
+
+    /**
+     * Ctor.
+     *
+     * @param addresses The addresses of the workers, null for the workers
+     *  that did not start.
+     */
+    public MdaCoordinator(final List<InetSocketAddress> addresses) {
+        this.workers = addresses;
+    }
+
+    @Override
+    public MdaResult check(final List<MvnArtifactVersion> versions)
+        throws InterruptedException {
+        final List<MvnArtifactVersion> unique =
+            new ArrayList<>(new LinkedHashSet<>(versions));
+        final MdaShards shards = new MdaShards(this.workers.size());
+        final List<List<MvnArtifactVersion>> batches = new ArrayList<>();
+        for (int idx = 0; idx < this.workers.size(); idx += 1) {
+            batches.add(new ArrayList<>());
+        }
+        for (final MvnArtifactVersion version : unique) {
+            batches.get(shards.shard(version.artifact())).add(version);
+        }
+        final Map<String, String[]> answers = new HashMap<>();
+        final Map<String, String> failures = new HashMap<>();
+        try (ExecutorService executor =
+            Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Map<String, String[]>>> futures =
+                new ArrayList<>(batches.size());
+            for (int idx = 0; idx < batches.size(); idx += 1) {
+                final InetSocketAddress worker = this.workers.get(idx);
+                final List<MvnArtifactVersion> batch = batches.get(idx);
+                futures.add(executor.submit(() -> ask(worker, batch)));
+            }
+            for (int idx = 0; idx < batches.size(); idx += 1) {
+                try {
+                    answers.putAll(futures.get(idx).get());
+                } catch (final ExecutionException ex) {
+                    for (final MvnArtifactVersion version : batches.get(idx)) {
+                        failures.put(
+                            version.identifier(),
+                            String.format(
+                                "Worker %d failed: %s",
+                                idx, ex.getCause().getMessage()
+                            )
+                        );
+                    }
+                }
+            }
+        }
+        return merge(unique, answers, failures);
+    }
+
+    /**
+     * Send the batch of the artifacts to the worker and read its answers.
+     *
+     * @param worker The address of the worker or null if it did not start.
+     * @param batch The artifacts' versions.
+     * @return The answers: coordinate to the fields of the answer.
+     * @throws IOException If the communication failed.
+     */
+    private static Map<String, String[]> ask(
+        final InetSocketAddress worker, final List<MvnArtifactVersion> batch
+    ) throws IOException {
+        if (worker == null) {
+            throw new IOException("The worker did not start.");
+        }
+        final Map<String, String[]> answers = new HashMap<>();
+        try (
+            Socket socket = connect(worker);
+            Writer out = new BufferedWriter(
+                new OutputStreamWriter(
+                    socket.getOutputStream(), StandardCharsets.UTF_8
+                )
+            );
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8
+                )
+            )
+        ) {
+            for (final MvnArtifactVersion version : batch) {
+                out.write(version.identifier());
+                out.write('\n');
+            }
+            out.write('\n');
+            out.flush();
+            String line = in.readLine();
+            while (line != null) {
+                final String[] fields = line.split(MdaWorker.FIELD, -1);
+                answers.put(fields[0], fields);
+                line = in.readLine();
+            }
+        }
+        return answers;
+    }
+
+    /**
+     * Connect to the worker.
+     *
+     * @param worker The address of the worker.
+     * @return The connected socket.
+     * @throws IOException If the worker can not be reached.
+     */
+    private static Socket connect(final InetSocketAddress worker)
+        throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.connect(worker, CONNECT);
+            socket.setSoTimeout(ANSWER);
+        } catch (final IOException ex) {
+            socket.close();
+            throw ex;
+        }
+        return socket;
+    }
+
+    /**
+     * Merge the answers of the workers into one result.
+     *
+     * @param versions The unique artifacts' versions.
+     * @param answers The answers of the workers.
+     * @param failures The artifacts whose workers failed and the reasons.
+     * @return The result.
+     */
+    private static MdaResult merge(
+        final List<MvnArtifactVersion> versions,
+        final Map<String, String[]> answers,
+        final Map<String, String> failures
+    ) {
+        final MdaResult result = new MdaResult();
+        for (final MvnArtifactVersion version : versions) {
+            final String[] answer = answers.get(version.identifier());
+            if (answer == null || answer.length <= 2) {
+                result.addSkipped(
+                    version,
+                    failures.getOrDefault(
+                        version.identifier(), "No answer from the worker."
+                    )
+                );
+            } else if (MdaWorker.SKIPPED.equals(answer[1])) {
+                result.addSkipped(version, answer[2]);
+            } else if (!answer[2].isEmpty()) {
+                final List<MvnArtifactVersion> newer = new ArrayList<>();
+                for (final String name : answer[2].split(MdaWorker.SEPARATOR)) {
+                    newer.add(
+                        new MavenArtifactVersion(
+                            version.artifact(), name, MvnPackagingType.JAR, null
+                        )
+                    );
+                }
+                result.addOutdated(version, newer);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive limiter of the concurrent repository lookups. The lookups are
+ * grouped into windows, a window is as long as the current limit. At the end
+ * of every window the limiter compares the average latency of the window with
+ * the long-term average latency (the gradient): while the latency stays
+ * healthy the limit grows by one, when it rises the limit shrinks a bit. When
+ * the repository throttles us the limit is halved, at most once per window,
+ * and no lookup starts until the requested delay is over.
+ *
+ * @since 4.3
+ */
+public final class MdaLimiter {
+
+    /**
+     * The default initial limit.
+     */
+    private static final int INITIAL = 4;
+
+    /**
+     * The default maximal limit.
+     */
+    private static final int MAXIMUM = 64;
+
+    /**
+     * How many times the average latency of a window may exceed the
+     * long-term average latency before we consider the repository overloaded.
+     */
+    private static final double TOLERANCE = 1.5;
+
+    /**
+     * The factor applied to the limit when the latency rises.
+     */
+    private static final double DECREASE = 0.9;
+
+    /**
+     * The weight of the latest window in the long-term average latency.
+     */
+    private static final double SMOOTHING = 0.1;
+
+    /**
+     * The minimal limit.
+     */
+    private final int floor;
+
+    /**
+     * The maximal limit.
+     */
+    private final int ceiling;
+
+    /**
+     * The current limit.
+     */
+    private double limit;
+
+    /**
+     * The amount of the lookups that are currently in flight.
+     */
+    private int inflight;
+
+    /**
+     * The moment (see {@link System#nanoTime()}) until which no lookup may
+     * start.
+     */
+    private long resume;
+
+    /**
+     * The long-term average latency, in nanoseconds, zero until the first
+     * window is over.
+     */
+    private double average;
+
+    /**
+     * The amount of the lookups finished in the current window.
+     */
+    private int finished;
+
+    /**
+     * The amount of the lookups with measured latency in the current window.
+     */
+    private int measured;
+
+    /**
+     * The total latency of the current window, in nanoseconds.
+     */
+    private double total;
+
+    /**
+     * Was the limit already decreased because of throttling in the current
+     * window?
+     */
+    private boolean decreased;
+
+    /**
+     * The amount of the lookups that started before the last decrease and are
+     * still in flight. They reflect the old limit, so they are not counted in
+     * the window.
+     */
+    private int stale;
+
+    /**
+     * Ctor.
+     */
+    public MdaLimiter() {
+        this(INITIAL, 1, MAXIMUM);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param initial The initial limit.
+     * @param min The minimal limit.
+     * @param max The maximal limit.
+     */
+    public MdaLimiter(final int initial, final int min, final int max) {
+        if (min < 1 || initial < min || max < initial) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Invalid limits: initial %d, min %d, max %d",
+                    initial, min, max
+                )
+            );
+        }
+        this.limit = initial;
+        this.floor = min;
+        this.ceiling = max;
+        this.resume = System.nanoTime();
+    }
+
+    /**
+     * Wait until one more lookup may start and occupy the slot for it.
+     *
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (true) {
+            final long pause = this.resume - System.nanoTime();
+            if (pause > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, pause);
+            } else if (this.inflight < this.limit()) {
+                break;
+            } else {
+                this.wait();
+            }
+        }
+        this.inflight += 1;
+    }
+
+    /**
+     * Release the slot of the successful lookup.
+     *
+     * @param latency The latency of the lookup in nanoseconds.
+     */
+    public synchronized void release(final long latency) {
+        this.finish(latency);
+    }
+
+    /**
+     * Release the slot of the lookup that was throttled by the repository.
+     */
+    public synchronized void throttled() {
+        if (!this.decreased) {
+            this.decrease(this.limit / 2, this.inflight);
+            this.decreased = true;
+        }
+        this.finish(-1);
+    }
+
+    /**
+     * Release the slot of the lookup that failed for a reason that has nothing
+     * to do with the load of the repository.
+     */
+    public synchronized void failed() {
+        this.free();
+    }
+
+    /**
+     * Start the pause of the lookups, unless it is already running. Only the
+     * caller that started the pause should ask the repository how long it
+     * has to be and then {@link #resume(Duration)} it, the rest just wait.
+     *
+     * @param delay The provisional length of the pause.
+     * @return True if this call started the pause.
+     */
+    public synchronized boolean pause(final Duration delay) {
+        final long now = System.nanoTime();
+        final boolean started = this.resume - now <= 0;
+        if (started) {
+            this.resume = now + delay.toNanos();
+        }
+        return started;
+    }
+
+    /**
+     * Set the length of the running pause.
+     *
+     * @param delay The time from now until the lookups may start again.
+     */
+    public synchronized void resume(final Duration delay) {
+        this.resume = System.nanoTime() + delay.toNanos();
+        this.notifyAll();
+    }
+
+    /**
+     * The current limit of the concurrent lookups.
+     *
+     * @return The limit.
+     */
+    public synchronized int limit() {
+        return (int) this.limit;
+    }
+
+    /**
+     * Count the finished lookup, adjust the limit at the end of the window and
+     * free the slot. The lookups that started before the last decrease are
+     * not counted at all.
+     *
+     * @param latency The latency of the lookup in nanoseconds or a negative
+     *  value if it was not measured.
+     */
+    private void finish(final long latency) {
+        if (this.stale > 0) {
+            this.stale -= 1;
+        } else {
+            this.finished += 1;
+            if (latency >= 0) {
+                this.measured += 1;
+                this.total += latency;
+            }
+            if (this.finished >= this.limit()) {
+                final boolean adjust = !this.decreased && this.measured > 0;
+                final double window = this.total / Math.max(1, this.measured);
+                this.decreased = false;
+                this.restart();
+                if (adjust) {
+                    this.adjust(window);
+                }
+            }
+        }
+        this.free();
+    }
+
+    /**
+     * Adjust the limit by the average latency of the finished window.
+     *
+     * @param window The average latency of the window in nanoseconds.
+     */
+    private void adjust(final double window) {
+        if (this.average == 0) {
+            this.average = window;
+        }
+        if (window > this.average * TOLERANCE) {
+            this.decrease(this.limit * DECREASE, this.inflight - 1);
+        } else {
+            this.limit = Math.min(this.ceiling, this.limit + 1);
+        }
+        this.average = this.average * (1 - SMOOTHING) + window * SMOOTHING;
+    }
+
+    /**
+     * Decrease the limit and start the new window.
+     *
+     * @param value The new limit.
+     * @param started The amount of the lookups in flight that started with the
+     *  old limit and should not be counted in the new window.
+     */
+    private void decrease(final double value, final int started) {
+        this.limit = Math.max(this.floor, value);
+        this.stale = started;
+        this.restart();
+    }
+
+    /**
+     * Start the new window.
+     */
+    private void restart() {
+        this.finished = 0;
+        this.measured = 0;
+        this.total = 0;
+    }
+
+    /**
+     * Free the slot and wake up the waiting lookups.
+     */
+    private void free() {
+        this.inflight -= 1;
+        this.notifyAll();
+    }
+}
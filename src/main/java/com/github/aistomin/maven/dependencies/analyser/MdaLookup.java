@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenCentral;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnException;
+import com.github.aistomin.maven.browser.MvnRepo;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parallel lookup of the newer versions of the artifacts. The amount of the
+ * concurrent lookups is controlled by {@link MdaLimiter}. The lookups that
+ * were throttled by the repository (HTTP 429 or 503) are retried after the
+ * delay from the "Retry-After" header, which is read once per throttling
+ * episode. The artifacts for which the repository asks us to wait longer than
+ * a minute are skipped.
+ *
+ * @since 4.3
+ */
+public final class MdaLookup implements MdaCheck {
+
+    /**
+     * How many times we try to look up an artifact that is throttled.
+     */
+    private static final int ATTEMPTS = 5;
+
+    /**
+     * The delay we wait for if the repository did not tell us how long to
+     * wait.
+     */
+    private static final Duration BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * The longest delay we are ready to wait for.
+     */
+    private static final Duration LONGEST = Duration.ofMinutes(1);
+
+    /**
+     * The timeout of the request for the "Retry-After" header.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The client of the requests for the "Retry-After" header.
+     */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .connectTimeout(TIMEOUT)
+        .build();
+
+    /**
+     * The message of the JDK URL connection about a throttled request.
+     */
+    private static final Pattern THROTTLED = Pattern.compile(
+        "HTTP response code: (?:429|503) for URL: (\\S+)"
+    );
+
+    /**
+     * The search URL of Maven Central, it is not used by the analysis.
+     */
+    private static final String SEARCH =
+        "https://search.maven.org/solrsearch/select";
+
+    /**
+     * HTTP status "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * HTTP status "Service Unavailable".
+     */
+    private static final int UNAVAILABLE = 503;
+
+    /**
+     * The repository.
+     */
+    private final MvnRepo repo;
+
+    /**
+     * The limiter of the concurrent lookups.
+     */
+    private final MdaLimiter limiter;
+
+    /**
+     * Ctor.
+     *
+     * @param repository The repository.
+     */
+    public MdaLookup(final MvnRepo repository) {
+        this(repository, new MdaLimiter());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository The repository.
+     * @param limits The limiter of the concurrent lookups.
+     */
+    public MdaLookup(final MvnRepo repository, final MdaLimiter limits) {
+        this.repo = repository;
+        this.limiter = limits;
+    }
+
+    /**
+     * The repository with the given URL.
+     *
+     * @param url The URL of the repository or null for Maven Central.
+     * @return The repository.
+     */
+    public static MvnRepo repository(final String url) {
+        final MvnRepo repository;
+        if (url == null) {
+            repository = new MavenCentral();
+        } else {
+            repository = new MavenCentral(url, SEARCH);
+        }
+        return repository;
+    }
+
+    @Override
+    public MdaResult check(final List<MvnArtifactVersion> versions)
+        throws InterruptedException {
+        final MdaResult result = new MdaResult();
+        try (ExecutorService executor =
+            Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<List<MvnArtifactVersion>>> futures =
+                new ArrayList<>(versions.size());
+            for (final MvnArtifactVersion version : versions) {
+                futures.add(executor.submit(() -> this.newer(version)));
+            }
+            for (int idx = 0; idx < versions.size(); idx += 1) {
+                final MvnArtifactVersion version = versions.get(idx);
+                try {
+                    final List<MvnArtifactVersion> newer =
+                        futures.get(idx).get();
+                    if (!newer.isEmpty()) {
+                        result.addOutdated(version, newer);
+                    }
+                } catch (final ExecutionException exception) {
+                    result.addSkipped(
+                        version, exception.getCause().getMessage()
+                    );
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Look up the newer versions of the artifact retrying it while the
+     * repository throttles us. Every attempt is recorded as a separate
+     * {@link MdaLookupEvent}, so the events show the time spent in the
+     * repository and not in the queue of the limiter.
+     *
+     * @param version The artifact's version.
+     * @return The newer versions.
+     * @throws Exception If the lookup was not successful.
+     */
+    private List<MvnArtifactVersion> newer(final MvnArtifactVersion version)
+        throws Exception {
+        int attempt = 1;
+        while (true) {
+            this.limiter.acquire();
+            Runnable release = this.limiter::failed;
+            final MdaLookupEvent event = new MdaLookupEvent();
+            event.begin();
+            final long start = System.nanoTime();
+            try {
+                final List<MvnArtifactVersion> newer =
+                    this.repo.findVersionsNewerThan(version);
+                final long latency = System.nanoTime() - start;
+                event.succeeded(version, newer.size());
+                release = () -> this.limiter.release(latency);
+                return newer;
+            } catch (final MvnException exception) {
+                event.failed(version, exception);
+                final String url = throttled(exception);
+                if (url == null) {
+                    throw exception;
+                }
+                release = this.limiter::throttled;
+                if (this.limiter.pause(BACKOFF)) {
+                    final Duration delay = retryAfter(url);
+                    if (delay.compareTo(LONGEST) > 0) {
+                        throw new IOException(
+                            String.format(
+                                "%s asks to retry after %s, longer than %s",
+                                url, delay, LONGEST
+                            ),
+                            exception
+                        );
+                    }
+                    this.limiter.resume(delay);
+                }
+                if (attempt >= ATTEMPTS) {
+                    throw exception;
+                }
+                attempt += 1;
+            } catch (final RuntimeException exception) {
+                event.failed(version, exception);
+                throw exception;
+            } finally {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Check whether the lookup failed because the repository throttled us.
+     *
+     * @param error The error of the lookup.
+     * @return The throttled URL or null if it was not throttling.
+     */
+    private static String throttled(final Throwable error) {
+        String url = null;
+        Throwable cause = error;
+        while (cause != null && url == null) {
+            if (cause.getMessage() != null) {
+                final Matcher matcher =
+                    THROTTLED.matcher(cause.getMessage());
+                if (matcher.find()) {
+                    url = matcher.group(1);
+                }
+            }
+            cause = cause.getCause();
+        }
+        return url;
+    }
+
+    /**
+     * Ask the repository how long we should wait before the next request. The
+     * repository client does not expose the response headers, so we send one
+     * extra HEAD request per throttling episode to the throttled URL and read
+     * its "Retry-After" header. If that request is not throttled or does not
+     * say how long to wait, we wait for the default delay anyway: the
+     * repository may have let the probe through at the expense of the next
+     * lookup.
+     *
+     * @param url The throttled URL.
+     * @return The delay.
+     */
+    private static Duration retryAfter(final String url) {
+        Duration delay = BACKOFF;
+        try {
+            final HttpResponse<Void> response = CLIENT.send(
+                HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(TIMEOUT)
+                    .build(),
+                HttpResponse.BodyHandlers.discarding()
+            );
+            final Optional<String> header =
+                response.headers().firstValue("Retry-After");
+            if ((response.statusCode() == TOO_MANY
+                || response.statusCode() == UNAVAILABLE)
+                && header.isPresent()) {
+                delay = parse(header.get().trim());
+            }
+        } catch (final IOException | IllegalArgumentException ignored) {
+            delay = BACKOFF;
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        return delay;
+    }
+
+    /**
+     * Parse the value of the "Retry-After" header. It is either the amount of
+     * seconds or the HTTP date.
+     *
+     * @param header The value of the header.
+     * @return The delay.
+     */
+    private static Duration parse(final String header) {
+        Duration delay;
+        try {
+            if (header.chars().allMatch(Character::isDigit)) {
+                delay = Duration.ofSeconds(Long.parseLong(header));
+            } else {
+                delay = Duration.between(
+                    ZonedDateTime.now(),
+                    ZonedDateTime.parse(
+                        header, DateTimeFormatter.RFC_1123_DATE_TIME
+                    )
+                );
+            }
+        } catch (final NumberFormatException | DateTimeParseException ex) {
+            delay = BACKOFF;
+        }
+        if (delay.isNegative()) {
+            delay = Duration.ZERO;
+        }
+        return delay;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event that is emitted for every lookup of the newer
+ * versions of an artifact in the repository.
+ *
+ * @since 4.3
+ */
+@Name("com.github.aistomin.mda.Lookup")
+@Label("Repository Lookup")
+@Category("Maven Dependencies Analyser")
+@Description("Lookup of the newer versions of an artifact")
+public final class MdaLookupEvent extends Event {
+
+    /**
+     * The coordinate of the artifact (groupId:artifactId:version).
+     */
+    @Label("Coordinate")
+    private String coordinate;
+
+    /**
+     * The amount of the newer versions that were found.
+     */
+    @Label("Newer Versions")
+    private int newer;
+
+    /**
+     * The reason why the lookup failed, null if it succeeded.
+     */
+    @Label("Failure")
+    private String failure;
+
+    /**
+     * Record the successful lookup.
+     *
+     * @param version The artifact's version that was looked up.
+     * @param found The amount of the newer versions that were found.
+     */
+    public void succeeded(final MvnArtifactVersion version, final int found) {
+        if (this.shouldCommit()) {
+            this.coordinate = version.identifier();
+            this.newer = found;
+            this.commit();
+        }
+    }
+
+    /**
+     * Record the failed lookup.
+     *
+     * @param version The artifact's version that was looked up.
+     * @param error The reason of the failure.
+     */
+    public void failed(
+        final MvnArtifactVersion version, final Throwable error
+    ) {
+        if (this.shouldCommit()) {
+            this.coordinate = version.identifier();
+            this.failure = error.getMessage();
+            this.commit();
+        }
+    }
+}
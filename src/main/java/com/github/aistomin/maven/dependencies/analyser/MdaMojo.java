@@ -15,14 +15,11 @@
  */
 package com.github.aistomin.maven.dependencies.analyser;
 
-import com.github.aistomin.maven.browser.MavenCentral;
 import com.github.aistomin.maven.browser.MvnArtifactVersion;
-import com.github.aistomin.maven.browser.MvnRepo;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -66,6 +63,12 @@ public final class MdaMojo extends AbstractMojo {
     @Parameter(property = "path", defaultValue = "pom.xml")
     private String pom;
 
+    /**
+     * The URL of the repository, Maven Central if it is not set.
+     */
+    @Parameter(property = "repo")
+    private String repo;
+
     /**
      * Ctor.
      */
@@ -101,40 +104,39 @@ public final class MdaMojo extends AbstractMojo {
     @Override
     public void execute() throws MojoFailureException {
         if (this.enabled) {
-            final var outdated =
-                new HashMap<MvnArtifactVersion, List<MvnArtifactVersion>>();
+            final List<MvnArtifactVersion> dependencies = new ArrayList<>();
+            MdaResult result = new MdaResult();
+            final MdaReportEvent report = new MdaReportEvent(this.pom);
+            report.begin();
             try {
-                final List<MvnArtifactVersion> dependencies = new ArrayList<>();
-                final MdaPom config = new MdaPom(this.pom);
-                final MvnArtifactVersion parent = config.parent();
-                if (parent != null) {
-                    dependencies.add(parent);
+                final MdaPrefetch prefetch = this.prefetched();
+                MdaResult collected = null;
+                if (prefetch != null) {
+                    collected = this.collect(prefetch);
                 }
-                dependencies.addAll(config.dependencies());
-                dependencies.addAll(config.plugins());
-                final MvnRepo repo = new MavenCentral();
-                final var skipped = new ArrayList<MvnArtifactVersion>();
-                for (final MvnArtifactVersion version : dependencies) {
-                    try {
-                        final List<MvnArtifactVersion> newer =
-                            repo.findVersionsNewerThan(version);
-                        if (!newer.isEmpty()) {
-                            outdated.put(version, newer);
-                        }
-                    } catch (final Throwable exception) {
-                        skipped.add(version);
-                        this.throwError(
-                            String.format(
-                                "Can not analyse %s. %s",
-                                version.toString(),
-                                exception.getMessage()
-                            )
-                        );
-                    }
+                if (collected == null) {
+                    dependencies.addAll(new MdaPom(this.pom).artifacts());
+                    result = new MdaLookup(MdaLookup.repository(this.repo))
+                        .check(dependencies);
+                } else {
+                    dependencies.addAll(prefetch.artifacts());
+                    result = collected;
                 }
-                if (outdated.size() > 0) {
-                    this.throwError(message(outdated));
-                } else if (skipped.size() > 0) {
+                for (
+                    final Map.Entry<MvnArtifactVersion, String> item
+                        : result.skipped().entrySet()
+                ) {
+                    this.throwError(
+                        String.format(
+                            "Can not analyse %s. %s",
+                            item.getKey().toString(),
+                            item.getValue()
+                        )
+                    );
+                }
+                if (!result.outdated().isEmpty()) {
+                    this.throwError(result.report());
+                } else if (!result.skipped().isEmpty()) {
                     this.logger.info(
                         "Not all the dependencies were checked. See the logs."
                     );
@@ -145,6 +147,12 @@ public final class MdaMojo extends AbstractMojo {
                 this.throwError(
                     String.format("Error occurred: %s", error.getMessage())
                 );
+            } finally {
+                report.summary(
+                    dependencies.size(),
+                    result.outdated().size(),
+                    result.skipped().size()
+                );
             }
         } else {
             final String line =
@@ -182,6 +190,54 @@ public final class MdaMojo extends AbstractMojo {
         this.pom = path;
     }
 
+    /**
+     * Set the URL of the repository.
+     *
+     * @param url The URL of the repository.
+     */
+    public void setRepo(final String url) {
+        this.repo = url;
+    }
+
+    /**
+     * Wait for the lookups that were started by the "prefetch" goal.
+     *
+     * @param prefetch The prefetched lookups.
+     * @return The result or null if the lookups failed.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private MdaResult collect(final MdaPrefetch prefetch)
+        throws InterruptedException {
+        MdaResult result = null;
+        try {
+            result = prefetch.result();
+        } catch (final ExecutionException error) {
+            this.logger.warn(
+                "The prefetch failed, looking the dependencies up again: {}",
+                error.getCause().getMessage()
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Take the lookups that were started by the "prefetch" goal.
+     *
+     * @return The prefetched lookups or null if there are none.
+     */
+    private MdaPrefetch prefetched() {
+        MdaPrefetch prefetch = null;
+        final Map<?, ?> context = this.getPluginContext();
+        if (context != null) {
+            final Object value =
+                context.remove(MdaPrefetch.key(this.pom, this.repo));
+            if (value instanceof MdaPrefetch) {
+                prefetch = (MdaPrefetch) value;
+            }
+        }
+        return prefetch;
+    }
+
     /**
      * Throw pom.xml validation exception.
      *
@@ -199,33 +255,4 @@ public final class MdaMojo extends AbstractMojo {
             );
         }
     }
-
-    /**
-     * Build error message for the outdated dependencies.
-     *
-     * @param outdated Outdated dependencies.
-     * @return Message.
-     */
-    private static String message(
-        final Map<MvnArtifactVersion, List<MvnArtifactVersion>> outdated
-    ) {
-        final StringBuilder msg = new StringBuilder();
-        for (
-            final Map.Entry<MvnArtifactVersion, List<MvnArtifactVersion>> item
-                : outdated.entrySet()
-        ) {
-            msg.append(
-                String.format(
-                    "%s (version %s) has newer versions: %s%n",
-                    item.getKey().artifact().identifier(),
-                    item.getKey().name(),
-                    item.getValue()
-                        .stream()
-                        .map(MvnArtifactVersion::name)
-                        .collect(Collectors.joining("; "))
-                )
-            );
-        }
-        return msg.toString();
-    }
 }
@@ -25,7 +25,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Model;
@@ -69,12 +72,13 @@ public final class MdaPom implements MdaBuildFile {
         final Model model = this.model();
         final Parent parent = model.getParent();
         if (parent != null) {
+            final Properties properties = this.properties(model);
             return new MavenArtifactVersion(
                 new MavenArtifact(
                     new MavenGroup(parent.getGroupId()),
                     parent.getArtifactId()
                 ),
-                dependencyVersion(model, parent.getVersion()),
+                dependencyVersion(properties, parent.getVersion()),
                 MvnPackagingType.JAR,
                 System.currentTimeMillis()
             );
@@ -87,6 +91,7 @@ public final class MdaPom implements MdaBuildFile {
     public List<MvnArtifactVersion> dependencies()
         throws IOException, XmlPullParserException {
         final Model model = this.model();
+        final Properties properties = this.properties(model);
         return model
             .getDependencies()
             .stream()
@@ -97,7 +102,9 @@ public final class MdaPom implements MdaBuildFile {
                             new MavenGroup(dependency.getGroupId()),
                             dependency.getArtifactId()
                         ),
-                        dependencyVersion(model, dependency.getVersion()),
+                        dependencyVersion(
+                            properties, dependency.getVersion()
+                        ),
                         find(dependency.getType()),
                         System.currentTimeMillis()
                     )
@@ -110,6 +117,7 @@ public final class MdaPom implements MdaBuildFile {
     public List<MvnArtifactVersion> plugins()
         throws IOException, XmlPullParserException {
         final Model model = this.model();
+        final Properties properties = this.properties(model);
         final Build build = model.getBuild();
         return build != null ? build.getPlugins()
             .stream()
@@ -120,7 +128,7 @@ public final class MdaPom implements MdaBuildFile {
                             new MavenGroup(plugin.getGroupId()),
                             plugin.getArtifactId()
                         ),
-                        dependencyVersion(model, plugin.getVersion()),
+                        dependencyVersion(properties, plugin.getVersion()),
                         MvnPackagingType.JAR,
                         System.currentTimeMillis()
                     )
@@ -129,6 +137,48 @@ public final class MdaPom implements MdaBuildFile {
             .collect(Collectors.toList()) : new ArrayList<>();
     }
 
+    /**
+     * Find the parent's pom.xml file on the disk using the parent's relative
+     * path (../pom.xml by default).
+     *
+     * @return The parent's pom.xml file or null if there is no parent or it is
+     *  not available locally.
+     * @throws IOException If the file is not found or corrupted.
+     * @throws XmlPullParserException If file parsing was not successful.
+     */
+    public File parentFile() throws IOException, XmlPullParserException {
+        return this.parentFile(this.model());
+    }
+
+    /**
+     * Find the parent's pom.xml file on the disk.
+     *
+     * @param model The pom.xml model.
+     * @return The parent's pom.xml file or null if there is no parent or it is
+     *  not available locally.
+     */
+    private File parentFile(final Model model) {
+        final Parent parent = model.getParent();
+        File result = null;
+        if (parent != null) {
+            String relative = parent.getRelativePath();
+            if (relative == null) {
+                relative = "../pom.xml";
+            }
+            if (!relative.isBlank()) {
+                File candidate = this.file.getAbsoluteFile().toPath()
+                    .resolveSibling(relative).normalize().toFile();
+                if (candidate.isDirectory()) {
+                    candidate = new File(candidate, "pom.xml");
+                }
+                if (candidate.isFile()) {
+                    result = candidate;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Parse the model.
      *
@@ -137,26 +187,59 @@ public final class MdaPom implements MdaBuildFile {
      * @throws XmlPullParserException If file parsing was not successful.
      */
     private Model model() throws IOException, XmlPullParserException {
-        return new MavenXpp3Reader()
-            .read(Files.newInputStream(this.file.toPath()));
+        final MdaPomEvent event = new MdaPomEvent(this.file.getPath());
+        event.begin();
+        try {
+            return new MavenXpp3Reader()
+                .read(Files.newInputStream(this.file.toPath()));
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * The properties of the pom.xml together with the properties of its
+     * parents that are available locally. The closer pom.xml wins.
+     *
+     * @param model The pom.xml model.
+     * @return The properties.
+     * @throws IOException If a parent is not found or corrupted.
+     * @throws XmlPullParserException If parsing of a parent was not successful.
+     */
+    private Properties properties(final Model model)
+        throws IOException, XmlPullParserException {
+        final List<Properties> chain = new ArrayList<>();
+        chain.add(model.getProperties());
+        final Set<File> visited = new HashSet<>();
+        File parent = this.parentFile(model);
+        while (parent != null && visited.add(parent)) {
+            final MdaPom pom = new MdaPom(parent);
+            final Model current = pom.model();
+            chain.add(current.getProperties());
+            parent = pom.parentFile(current);
+        }
+        final Properties properties = new Properties();
+        for (int idx = chain.size() - 1; idx >= 0; idx -= 1) {
+            properties.putAll(chain.get(idx));
+        }
+        return properties;
     }
 
     /**
      * Sometimes the version of the artifact can be set as property. We need to
      * get the real value.
      *
-     * @param model The pom.xml model.
+     * @param properties The properties of the pom.xml.
      * @param version Dependency's version.
      * @return The real version.
      */
     private static String dependencyVersion(
-        final Model model, final String version
+        final Properties properties, final String version
     ) {
         final String marker = "${";
         String result = version;
         if (version != null && version.contains(marker)) {
-            result = model
-                .getProperties()
+            result = properties
                 .getProperty(
                     version.replace(marker, "").replace("}", "")
                 );
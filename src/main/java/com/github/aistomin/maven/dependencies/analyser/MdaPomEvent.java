@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event that is emitted every time a pom.xml file is
+ * parsed.
+ *
+ * @since 4.3
+ */
+@Name("com.github.aistomin.mda.PomParse")
+@Label("POM Parse")
+@Category("Maven Dependencies Analyser")
+@Description("Parsing of a pom.xml file")
+public final class MdaPomEvent extends Event {
+
+    /**
+     * The path to the pom.xml file.
+     */
+    @Label("Path")
+    private String path;
+
+    /**
+     * Ctor.
+     *
+     * @param file The path to the pom.xml file.
+     */
+    public MdaPomEvent(final String file) {
+        super();
+        this.path = file;
+    }
+}
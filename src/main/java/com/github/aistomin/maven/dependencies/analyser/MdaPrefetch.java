@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The lookups of the project's artifacts that were started in the background
+ * by {@link MdaPrefetchMojo} and are collected later by {@link MdaMojo}.
+ *
+ * @since 4.3
+ */
+public final class MdaPrefetch {
+
+    /**
+     * The artifacts that are being looked up.
+     */
+    private final List<MvnArtifactVersion> artifacts;
+
+    /**
+     * The result of the lookups.
+     */
+    private final CompletableFuture<MdaResult> result;
+
+    /**
+     * Ctor. Starts the lookups in the background.
+     *
+     * @param versions The artifacts that should be looked up.
+     * @param lookup The lookup.
+     */
+    public MdaPrefetch(
+        final List<MvnArtifactVersion> versions, final MdaCheck lookup
+    ) {
+        this.artifacts = versions;
+        this.result = new CompletableFuture<>();
+        Thread.ofVirtual().name("mda-prefetch").start(
+            () -> {
+                try {
+                    this.result.complete(lookup.check(versions));
+                } catch (final InterruptedException ex) {
+                    this.result.completeExceptionally(ex);
+                    Thread.currentThread().interrupt();
+                } catch (final Throwable ex) {
+                    this.result.completeExceptionally(ex);
+                }
+            }
+        );
+    }
+
+    /**
+     * The artifacts that are being looked up.
+     *
+     * @return The artifacts.
+     */
+    public List<MvnArtifactVersion> artifacts() {
+        return this.artifacts;
+    }
+
+    /**
+     * Wait for the lookups to finish.
+     *
+     * @return The result of the lookups.
+     * @throws InterruptedException If the thread was interrupted.
+     * @throws ExecutionException If the lookups failed.
+     */
+    public MdaResult result() throws InterruptedException, ExecutionException {
+        return this.result.get();
+    }
+
+    /**
+     * The key of the prefetched lookups of the pom.xml in the plugin context.
+     * The lookups in one repository are never used for another one.
+     *
+     * @param pom The path to the pom.xml file.
+     * @param repo The URL of the repository or null for Maven Central.
+     * @return The key.
+     */
+    public static String key(final String pom, final String repo) {
+        return String.format(
+            "%s:%s:%s",
+            MdaPrefetch.class.getName(),
+            new File(pom).getAbsolutePath(),
+            repo
+        );
+    }
+}
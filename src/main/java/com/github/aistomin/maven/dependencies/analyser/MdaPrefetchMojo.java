@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.util.Map;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mojo that starts the lookups of the project's artifacts in the background
+ * early in the build, so they run while the project is compiled and tested.
+ * The "check" goal of the same project collects the finished results instead
+ * of looking the artifacts up again. The prefetch never fails the build: if
+ * it does not succeed, the "check" goal does the analysis on its own.
+ *
+ * @since 4.3
+ */
+@Mojo(name = "prefetch", defaultPhase = LifecyclePhase.INITIALIZE)
+public final class MdaPrefetchMojo extends AbstractMojo {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Is validation enabled?
+     */
+    @Parameter(property = "enabled", defaultValue = "true")
+    private Boolean enabled;
+
+    /**
+     * The path to the pom.xml file.
+     */
+    @Parameter(property = "path", defaultValue = "pom.xml")
+    private String pom;
+
+    /**
+     * The URL of the repository, Maven Central if it is not set.
+     */
+    @Parameter(property = "repo")
+    private String repo;
+
+    /**
+     * Ctor.
+     */
+    public MdaPrefetchMojo() {
+        this("pom.xml", true);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param file The path to the pom.xml file.
+     * @param active Is validation enabled?
+     */
+    public MdaPrefetchMojo(final String file, final Boolean active) {
+        this.pom = file;
+        this.enabled = active;
+    }
+
+    /**
+     * Set the URL of the repository.
+     *
+     * @param url The URL of the repository.
+     */
+    public void setRepo(final String url) {
+        this.repo = url;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute() {
+        final Map<Object, Object> context = this.getPluginContext();
+        if (this.enabled && context != null) {
+            try {
+                final MdaPrefetch prefetch = new MdaPrefetch(
+                    new MdaPom(this.pom).artifacts(),
+                    new MdaLookup(MdaLookup.repository(this.repo))
+                );
+                context.put(MdaPrefetch.key(this.pom, this.repo), prefetch);
+                this.logger.info(
+                    "Looking up {} artifacts in the background.",
+                    prefetch.artifacts().size()
+                );
+            } catch (final Exception error) {
+                this.logger.warn(
+                    "Can not prefetch the dependencies: {}", error.getMessage()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event that covers the whole analysis of a project and
+ * the generation of its report.
+ *
+ * @since 4.3
+ */
+@Name("com.github.aistomin.mda.Report")
+@Label("Dependencies Report")
+@Category("Maven Dependencies Analyser")
+@Description("Analysis of the project's dependencies and its report")
+public final class MdaReportEvent extends Event {
+
+    /**
+     * The path to the pom.xml file.
+     */
+    @Label("Path")
+    private String path;
+
+    /**
+     * The amount of the analysed artifacts.
+     */
+    @Label("Artifacts")
+    private int artifacts;
+
+    /**
+     * The amount of the outdated artifacts.
+     */
+    @Label("Outdated")
+    private int outdated;
+
+    /**
+     * The amount of the artifacts that could not be analysed.
+     */
+    @Label("Skipped")
+    private int skipped;
+
+    /**
+     * Ctor.
+     *
+     * @param file The path to the pom.xml file.
+     */
+    public MdaReportEvent(final String file) {
+        super();
+        this.path = file;
+    }
+
+    /**
+     * Record the summary of the analysis.
+     *
+     * @param total The amount of the analysed artifacts.
+     * @param old The amount of the outdated artifacts.
+     * @param failed The amount of the artifacts that could not be analysed.
+     */
+    public void summary(final int total, final int old, final int failed) {
+        if (this.shouldCommit()) {
+            this.artifacts = total;
+            this.outdated = old;
+            this.skipped = failed;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The result of the analysis of the artifacts.
+ *
+ * @since 4.3
+ */
+public final class MdaResult {
+
+    /**
+     * The outdated artifacts and their newer versions.
+     */
+    private final Map<MvnArtifactVersion, List<MvnArtifactVersion>> outdated;
+
+    /**
+     * The artifacts that could not be analysed and the reasons.
+     */
+    private final Map<MvnArtifactVersion, String> skipped;
+
+    /**
+     * Ctor.
+     */
+    public MdaResult() {
+        this.outdated = new LinkedHashMap<>();
+        this.skipped = new LinkedHashMap<>();
+    }
+
+    /**
+     * Register the outdated artifact.
+     *
+     * @param version The artifact's version.
+     * @param newer The newer versions of the artifact.
+     */
+    public void addOutdated(
+        final MvnArtifactVersion version, final List<MvnArtifactVersion> newer
+    ) {
+        this.outdated.put(version, newer);
+    }
+
+    /**
+     * Register the artifact that could not be analysed.
+     *
+     * @param version The artifact's version.
+     * @param reason The reason why it could not be analysed.
+     */
+    public void addSkipped(
+        final MvnArtifactVersion version, final String reason
+    ) {
+        this.skipped.put(version, reason);
+    }
+
+    /**
+     * The outdated artifacts.
+     *
+     * @return The outdated artifacts and their newer versions.
+     */
+    public Map<MvnArtifactVersion, List<MvnArtifactVersion>> outdated() {
+        return Collections.unmodifiableMap(this.outdated);
+    }
+
+    /**
+     * The artifacts that could not be analysed.
+     *
+     * @return The artifacts and the reasons why they were skipped.
+     */
+    public Map<MvnArtifactVersion, String> skipped() {
+        return Collections.unmodifiableMap(this.skipped);
+    }
+
+    /**
+     * Build the report about the outdated artifacts.
+     *
+     * @return The report, one line per outdated artifact.
+     */
+    public String report() {
+        final StringBuilder msg = new StringBuilder();
+        for (
+            final Map.Entry<MvnArtifactVersion, List<MvnArtifactVersion>> item
+                : this.outdated.entrySet()
+        ) {
+            msg.append(
+                String.format(
+                    "%s (version %s) has newer versions: %s%n",
+                    item.getKey().artifact().identifier(),
+                    item.getKey().name(),
+                    item.getValue()
+                        .stream()
+                        .map(MvnArtifactVersion::name)
+                        .collect(Collectors.joining("; "))
+                )
+            );
+        }
+        return msg.toString();
+    }
+}
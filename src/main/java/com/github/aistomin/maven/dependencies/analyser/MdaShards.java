@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifact;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hashing of the artifacts (groupId:artifactId) to the shards.
+ * Every shard owns a number of points on the hash ring and the artifact
+ * belongs to the shard that owns the first point after the artifact's hash.
+ * This way the artifact always lands in the same shard and changing the
+ * amount of the shards moves only a small part of the artifacts.
+ *
+ * @since 4.3
+ */
+public final class MdaShards {
+
+    /**
+     * The amount of the points every shard owns on the ring.
+     */
+    private static final int POINTS = 128;
+
+    /**
+     * The hash ring: point to shard.
+     */
+    private final SortedMap<Long, Integer> ring;
+
+    /**
+     * Ctor.
+     *
+     * @param count The amount of the shards.
+     */
+    public MdaShards(final int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException(
+                String.format("Invalid amount of shards: %d", count)
+            );
+        }
+        this.ring = new TreeMap<>();
+        for (int shard = 0; shard < count; shard += 1) {
+            for (int point = 0; point < POINTS; point += 1) {
+                this.ring.put(
+                    hash(String.format("shard-%d-%d", shard, point)), shard
+                );
+            }
+        }
+    }
+
+    /**
+     * Find the shard of the artifact.
+     *
+     * @param artifact The artifact.
+     * @return The index of the shard.
+     */
+    public int shard(final MvnArtifact artifact) {
+        final SortedMap<Long, Integer> tail =
+            this.ring.tailMap(hash(artifact.identifier()));
+        final Map.Entry<Long, Integer> entry;
+        if (tail.isEmpty()) {
+            entry = this.ring.entrySet().iterator().next();
+        } else {
+            entry = tail.entrySet().iterator().next();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Hash the key. The hash must not depend on the JVM, because the shards
+     * keep their caches between the runs.
+     *
+     * @param key The key.
+     * @return The hash.
+     */
+    private static long hash(final String key) {
+        try {
+            return ByteBuffer.wrap(
+                MessageDigest.getInstance("MD5")
+                    .digest(key.getBytes(StandardCharsets.UTF_8))
+            ).getLong();
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
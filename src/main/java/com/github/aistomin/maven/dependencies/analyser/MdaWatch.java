@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental analysis of a pom.xml file that is being edited. Every refresh
+ * compares the artifacts of the file with the previous snapshot and looks up
+ * only the added or changed ones, the results of the rest are kept in memory.
+ * The artifacts that could not be analysed are not part of the snapshot, so
+ * they are looked up again on every refresh until the lookup succeeds. The
+ * local parents are watched too, since the versions may come from their
+ * properties.
+ *
+ * @since 4.3
+ */
+public final class MdaWatch {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * The pom.xml file.
+     */
+    private final File pom;
+
+    /**
+     * How long the files must stay untouched before they are analysed, in
+     * milliseconds. Editors often save a file in several steps.
+     */
+    private static final long QUIET = 200;
+
+    /**
+     * The lookup.
+     */
+    private final MdaCheck lookup;
+
+    /**
+     * The known outdated artifacts and their newer versions.
+     */
+    private final Map<MvnArtifactVersion, List<MvnArtifactVersion>> outdated;
+
+    /**
+     * The known artifacts that could not be analysed and the reasons.
+     */
+    private final Map<MvnArtifactVersion, String> skipped;
+
+    /**
+     * The successfully analysed artifacts of the previous snapshot.
+     */
+    private Set<MvnArtifactVersion> snapshot;
+
+    /**
+     * The amount of the artifacts that were looked up by the last refresh.
+     */
+    private int changed;
+
+    /**
+     * Ctor.
+     *
+     * @param file The pom.xml file.
+     * @param lookups The lookup.
+     */
+    public MdaWatch(final File file, final MdaCheck lookups) {
+        this.pom = file;
+        this.lookup = lookups;
+        this.outdated = new HashMap<>();
+        this.skipped = new HashMap<>();
+        this.snapshot = new HashSet<>();
+    }
+
+    /**
+     * Analyse the current state of the pom.xml file.
+     *
+     * @return The result of the analysis.
+     * @throws Exception If the analysis failed.
+     */
+    public MdaResult refresh() throws Exception {
+        final List<MvnArtifactVersion> artifacts = new ArrayList<>(
+            new LinkedHashSet<>(new MdaPom(this.pom).artifacts())
+        );
+        final List<MvnArtifactVersion> added = new ArrayList<>();
+        for (final MvnArtifactVersion artifact : artifacts) {
+            if (!this.snapshot.contains(artifact)) {
+                added.add(artifact);
+            }
+        }
+        final MdaResult fresh = this.lookup.check(added);
+        this.outdated.keySet().retainAll(artifacts);
+        this.skipped.keySet().retainAll(artifacts);
+        this.skipped.keySet().removeAll(added);
+        this.outdated.putAll(fresh.outdated());
+        this.skipped.putAll(fresh.skipped());
+        this.snapshot = new HashSet<>(artifacts);
+        this.snapshot.removeAll(this.skipped.keySet());
+        this.changed = added.size();
+        final MdaResult result = new MdaResult();
+        for (final MvnArtifactVersion artifact : artifacts) {
+            if (this.outdated.containsKey(artifact)) {
+                result.addOutdated(artifact, this.outdated.get(artifact));
+            }
+            if (this.skipped.containsKey(artifact)) {
+                result.addSkipped(artifact, this.skipped.get(artifact));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The amount of the artifacts that were looked up by the last refresh.
+     *
+     * @return The amount.
+     */
+    public int changed() {
+        return this.changed;
+    }
+
+    /**
+     * Watch the pom.xml file and its parents and analyse them every time they
+     * change. The method returns only when the thread is interrupted.
+     *
+     * @param listener The listener of the results of the analysis.
+     * @throws IOException If the files can not be watched.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    public void run(final Consumer<MdaResult> listener)
+        throws IOException, InterruptedException {
+        try (WatchService service =
+            FileSystems.getDefault().newWatchService()) {
+            Set<Path> files = this.update(service, listener);
+            while (true) {
+                final WatchKey key = service.take();
+                boolean relevant = false;
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    relevant = relevant || event.context() == null
+                        || files.contains(
+                            ((Path) key.watchable())
+                                .resolve((Path) event.context())
+                        );
+                }
+                key.reset();
+                if (relevant) {
+                    settle(service);
+                    files = this.update(service, listener);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait until the watched files stop changing. The events that come in the
+     * meantime are dropped, the following analysis covers them.
+     *
+     * @param service The watch service.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private static void settle(final WatchService service)
+        throws InterruptedException {
+        WatchKey key = service.poll(QUIET, TimeUnit.MILLISECONDS);
+        while (key != null) {
+            key.pollEvents();
+            key.reset();
+            key = service.poll(QUIET, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Register the files that should be watched, analyse the pom.xml file and
+     * notify the listener. The files are registered first, so the changes
+     * made during the analysis are not missed.
+     *
+     * @param service The watch service.
+     * @param listener The listener of the results of the analysis.
+     * @return The watched files.
+     * @throws IOException If the files can not be watched.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private Set<Path> update(
+        final WatchService service, final Consumer<MdaResult> listener
+    ) throws IOException, InterruptedException {
+        final Set<Path> files = this.files();
+        for (final Path file : files) {
+            file.getParent().register(
+                service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+            );
+        }
+        try {
+            listener.accept(this.refresh());
+        } catch (final InterruptedException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            this.logger.warn(
+                "Can not analyse {}: {}", this.pom, ex.getMessage()
+            );
+        }
+        return files;
+    }
+
+    /**
+     * The pom.xml file and all its parents that are available locally.
+     *
+     * @return The absolute paths of the files.
+     */
+    private Set<Path> files() {
+        final Set<Path> files = new LinkedHashSet<>();
+        File current = this.pom;
+        while (current != null
+            && files.add(current.getAbsoluteFile().toPath().normalize())) {
+            try {
+                current = new MdaPom(current).parentFile();
+            } catch (final Exception ex) {
+                current = null;
+            }
+        }
+        return files;
+    }
+}
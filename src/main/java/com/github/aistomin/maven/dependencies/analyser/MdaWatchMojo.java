@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.io.File;
+import java.util.Map;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mojo that watches the pom.xml file (and its parents) and prints the updated
+ * report every time the file is saved. Only the added or changed artifacts are
+ * looked up again. The goal runs until Maven is stopped.
+ *
+ * @since 4.3
+ */
+@Mojo(name = "watch")
+public final class MdaWatchMojo extends AbstractMojo {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * The path to the pom.xml file.
+     */
+    @Parameter(property = "path", defaultValue = "pom.xml")
+    private String pom;
+
+    /**
+     * Is validation enabled?
+     */
+    @Parameter(property = "enabled", defaultValue = "true")
+    private Boolean enabled;
+
+    /**
+     * The URL of the repository, Maven Central if it is not set.
+     */
+    @Parameter(property = "repo")
+    private String repo;
+
+    /**
+     * Ctor.
+     */
+    public MdaWatchMojo() {
+        this("pom.xml", true);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param file The path to the pom.xml file.
+     * @param active Is validation enabled?
+     */
+    public MdaWatchMojo(final String file, final Boolean active) {
+        this.pom = file;
+        this.enabled = active;
+    }
+
+    /**
+     * Set the URL of the repository.
+     *
+     * @param url The URL of the repository.
+     */
+    public void setRepo(final String url) {
+        this.repo = url;
+    }
+
+    @Override
+    public void execute() throws MojoFailureException {
+        if (this.enabled) {
+            this.logger.info("Watching {} for changes.", this.pom);
+            try {
+                new MdaWatch(
+                    new File(this.pom),
+                    new MdaLookup(MdaLookup.repository(this.repo))
+                ).run(this::print);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (final Exception error) {
+                throw new MojoFailureException(
+                    String.format("Error occurred: %s", error.getMessage()),
+                    error
+                );
+            }
+        } else {
+            final String line =
+                "***********************************************";
+            this.logger.warn(line);
+            this.logger.warn("Maven dependencies analysis is switched off.");
+            this.logger.warn(line);
+        }
+    }
+
+    /**
+     * Print the report of the analysis.
+     *
+     * @param result The result of the analysis.
+     */
+    private void print(final MdaResult result) {
+        for (
+            final Map.Entry<MvnArtifactVersion, String> item
+                : result.skipped().entrySet()
+        ) {
+            this.logger.warn(
+                "Can not analyse {}. {}", item.getKey(), item.getValue()
+            );
+        }
+        if (!result.outdated().isEmpty()) {
+            this.logger.warn(result.report());
+        } else if (result.skipped().isEmpty()) {
+            this.logger.info("All the dependencies are up to date.");
+        }
+    }
+}
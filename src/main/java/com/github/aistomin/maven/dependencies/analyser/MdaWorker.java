@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifact;
+import com.github.aistomin.maven.browser.MavenArtifactVersion;
+import com.github.aistomin.maven.browser.MavenGroup;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnPackagingType;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The worker of the distributed analysis. It receives the shard of the
+ * artifacts from {@link MdaCoordinator}, looks them up and sends the results
+ * back. The protocol is line based: the coordinator sends one
+ * groupId:artifactId:version per line followed by an empty line, the worker
+ * answers with one line per artifact: the coordinate, "+" and the newer
+ * versions separated by ";" or the coordinate, "-" and the reason why the
+ * artifact could not be analysed. The fields are separated by tabs.
+ *
+ * @since 4.3
+ */
+public final class MdaWorker {
+
+    /**
+     * The separator of the fields in the answer.
+     */
+    static final String FIELD = "\t";
+
+    /**
+     * The marker of the analysed artifact.
+     */
+    static final String ANALYSED = "+";
+
+    /**
+     * The marker of the skipped artifact.
+     */
+    static final String SKIPPED = "-";
+
+    /**
+     * The separator of the versions in the answer.
+     */
+    static final String SEPARATOR = ";";
+
+    /**
+     * How long the worker waits for the coordinator to connect and to send
+     * the shard, in milliseconds. The worker of a coordinator that was killed
+     * does not wait forever.
+     */
+    private static final int TIMEOUT = 60_000;
+
+    /**
+     * The amount of the parts of the groupId:artifactId:version coordinate.
+     */
+    private static final int PARTS = 3;
+
+    /**
+     * The check of the artifacts.
+     */
+    private final MdaCheck lookup;
+
+    /**
+     * Ctor.
+     *
+     * @param check The check of the artifacts.
+     */
+    public MdaWorker(final MdaCheck check) {
+        this.lookup = check;
+    }
+
+    /**
+     * Accept one connection from the coordinator and serve its shard.
+     *
+     * @param server The server socket.
+     * @throws IOException If the communication failed.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    public void serve(final ServerSocket server)
+        throws IOException, InterruptedException {
+        server.setSoTimeout(TIMEOUT);
+        try (
+            Socket socket = server.accept();
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8
+                )
+            );
+            Writer out = new BufferedWriter(
+                new OutputStreamWriter(
+                    socket.getOutputStream(), StandardCharsets.UTF_8
+                )
+            )
+        ) {
+            socket.setSoTimeout(TIMEOUT);
+            final List<MvnArtifactVersion> versions = new ArrayList<>();
+            String line = in.readLine();
+            while (line != null && !line.isEmpty()) {
+                versions.add(version(line));
+                line = in.readLine();
+            }
+            final MdaResult result = this.lookup.check(versions);
+            for (final MvnArtifactVersion version : versions) {
+                final String answer;
+                if (result.skipped().containsKey(version)) {
+                    answer = String.join(
+                        FIELD, version.identifier(), SKIPPED,
+                        String.valueOf(result.skipped().get(version))
+                            .replaceAll("\\s", " ")
+                    );
+                } else {
+                    answer = String.join(
+                        FIELD, version.identifier(), ANALYSED,
+                        result.outdated()
+                            .getOrDefault(version, List.of())
+                            .stream()
+                            .map(MvnArtifactVersion::name)
+                            .collect(Collectors.joining(SEPARATOR))
+                    );
+                }
+                out.write(answer);
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Parse the coordinate of the artifact.
+     *
+     * @param coordinate The groupId:artifactId:version coordinate.
+     * @return The artifact's version.
+     */
+    static MvnArtifactVersion version(final String coordinate) {
+        final String[] parts = coordinate.split(":", -1);
+        if (parts.length != PARTS) {
+            throw new IllegalArgumentException(
+                String.format("Invalid coordinate: %s", coordinate)
+            );
+        }
+        return new MavenArtifactVersion(
+            new MavenArtifact(new MavenGroup(parts[0]), parts[1]),
+            parts[2], MvnPackagingType.JAR, null
+        );
+    }
+}
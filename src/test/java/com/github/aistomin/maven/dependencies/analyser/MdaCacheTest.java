@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifact;
+import com.github.aistomin.maven.browser.MavenArtifactVersion;
+import com.github.aistomin.maven.browser.MavenGroup;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnPackagingType;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link MdaCache}.
+ *
+ * @since 4.3
+ */
+final class MdaCacheTest {
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    private Path temp;
+
+    /**
+     * Check that the cached artifacts are not looked up again.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testCheck() throws Exception {
+        final File file = this.temp.resolve("cache.properties").toFile();
+        try (MdaStub stub = new MdaStub(0)) {
+            final MvnArtifactVersion version = version();
+            final MdaCache cache = new MdaCache(stub.repo(), stub.url(), file);
+            Assertions.assertEquals(
+                2, cache.check(List.of(version)).outdated().get(version).size()
+            );
+            cache.save();
+            final MdaResult result = new MdaCache(stub.repo(), stub.url(), file)
+                .check(List.of(version, version));
+            Assertions.assertEquals(1, stub.served());
+            Assertions.assertEquals(
+                "2.0", result.outdated().get(version).get(0).name()
+            );
+        }
+    }
+
+    /**
+     * Check that the entries of one repository are not used for another one.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testRepository() throws Exception {
+        final File file = this.temp.resolve("cache.properties").toFile();
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaCache cache = new MdaCache(stub.repo(), stub.url(), file);
+            cache.check(List.of(version()));
+            cache.save();
+            new MdaCache(stub.repo(), "http://localhost:1", file)
+                .check(List.of(version()));
+            Assertions.assertEquals(2, stub.served());
+        }
+    }
+
+    /**
+     * Check that the corrupted entries are looked up again.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testCorrupted() throws Exception {
+        final File file = this.temp.resolve("cache.properties").toFile();
+        try (MdaStub stub = new MdaStub(0)) {
+            final Properties entries = new Properties();
+            entries.setProperty(
+                String.join(" ", stub.url(), version().identifier()),
+                "yesterday|2.0"
+            );
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                entries.store(out, null);
+            }
+            final MdaResult result = new MdaCache(stub.repo(), stub.url(), file)
+                .check(List.of(version()));
+            Assertions.assertEquals(1, stub.served());
+            Assertions.assertTrue(result.skipped().isEmpty());
+            Assertions.assertEquals(
+                2, result.outdated().get(version()).size()
+            );
+        }
+    }
+
+    /**
+     * The version of the stub artifact.
+     *
+     * @return The version.
+     */
+    private static MvnArtifactVersion version() {
+        return new MavenArtifactVersion(
+            new MavenArtifact(new MavenGroup("org.example"), "stub"),
+            "1.0", MvnPackagingType.JAR, System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * Check that the expired entries are dropped when the cache is saved and
+     * that no temporary file is left behind.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testSave() throws Exception {
+        final File file = this.temp.resolve("cache.properties").toFile();
+        try (MdaStub stub = new MdaStub(0)) {
+            final String expired = "http://localhost:1 org.example:old:1.0";
+            final Properties entries = new Properties();
+            entries.setProperty(expired, "0|2.0");
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                entries.store(out, null);
+            }
+            final MdaCache cache = new MdaCache(stub.repo(), stub.url(), file);
+            cache.check(List.of(version()));
+            cache.save();
+            final Properties saved = new Properties();
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                saved.load(in);
+            }
+            Assertions.assertNull(saved.getProperty(expired));
+            Assertions.assertEquals(1, saved.size());
+            try (Stream<Path> files = Files.list(this.temp)) {
+                Assertions.assertEquals(1, files.count());
+            }
+        }
+    }
+
+    /**
+     * Check that every cache lookup is visible in Java Flight Recorder.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFlightRecorderEvent() throws Exception {
+        final File file = this.temp.resolve("cache.properties").toFile();
+        final Path dump = this.temp.resolve("cache.jfr");
+        final Instant start;
+        try (
+            MdaStub stub = new MdaStub(0);
+            Recording recording = new Recording()
+        ) {
+            final MdaCache cache = new MdaCache(stub.repo(), stub.url(), file);
+            recording.enable(MdaCacheEvent.class);
+            start = Instant.now();
+            recording.start();
+            cache.check(List.of(version()));
+            cache.check(List.of(version()));
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump)
+            .stream()
+            .filter(event -> !event.getStartTime().isBefore(start))
+            .filter(
+                event -> event.getEventType().getName().equals(
+                    MdaCacheEvent.class.getAnnotation(Name.class).value()
+                )
+            )
+            .collect(Collectors.toList());
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(
+            1, events.stream().filter(event -> event.getBoolean("hit")).count()
+        );
+        Assertions.assertEquals(
+            version().identifier(), events.get(0).getString("coordinate")
+        );
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link MdaCli}.
+ *
+ * @since 4.3
+ */
+final class MdaCliTest {
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    private Path temp;
+
+    /**
+     * Check that the outdated artifacts fail the check and that the second
+     * run is served from the cache, including the unknown artifacts.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testOutdated() throws Exception {
+        final String pom = this.pom().toString();
+        final String cache = this.temp.resolve("cache.properties").toString();
+        try (MdaStub stub = new MdaStub(0)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final MdaCli cli = new MdaCli(
+                new PrintStream(out, true, StandardCharsets.UTF_8)
+            );
+            final String repo = stub.url();
+            Assertions.assertEquals(
+                MdaCli.OUTDATED, cli.run("--repo", repo, "--cache", cache, pom)
+            );
+            Assertions.assertEquals(2, stub.served());
+            Assertions.assertEquals(
+                MdaCli.OUTDATED, cli.run("--repo", repo, "--cache", cache, pom)
+            );
+            Assertions.assertEquals(2, stub.served());
+            Assertions.assertEquals(
+                0,
+                cli.run(
+                    "--level", "WARNING", "--repo", repo, "--cache", cache, pom
+                )
+            );
+            final String output = out.toString(StandardCharsets.UTF_8);
+            Assertions.assertTrue(
+                output.contains(
+                    "org.example:stub (version 1.0) has newer versions: 2.0; 1.1"
+                )
+            );
+            Assertions.assertTrue(
+                output.contains("Can not analyse org.example:gone:3.0")
+            );
+        }
+    }
+
+    /**
+     * Check that the artifacts that could not be analysed fail the check on
+     * the ERROR level.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testSkipped() throws Exception {
+        final String pom = Files.writeString(
+            this.temp.resolve("pom.xml"),
+            String.join(
+                "\n",
+                "<project><modelVersion>4.0.0</modelVersion>",
+                "<groupId>org.example</groupId><artifactId>app</artifactId>",
+                "<version>1.0</version><dependencies><dependency>",
+                "<groupId>org.example</groupId><artifactId>gone</artifactId>",
+                "<version>3.0</version></dependency></dependencies>",
+                "</project>"
+            )
+        ).toString();
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaCli cli = new MdaCli(
+                new PrintStream(new ByteArrayOutputStream(), true)
+            );
+            Assertions.assertEquals(
+                MdaCli.SKIPPED, cli.run("--repo", stub.url(), pom)
+            );
+            Assertions.assertEquals(
+                0, cli.run("--level", "WARNING", "--repo", stub.url(), pom)
+            );
+        }
+    }
+
+    /**
+     * Check that the analysis can be split between the worker processes.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testWorkers() throws Exception {
+        final String pom = this.pom().toString();
+        final String cache = this.temp.resolve("cache.properties").toString();
+        try (MdaStub stub = new MdaStub(0)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assertions.assertEquals(
+                MdaCli.OUTDATED,
+                new MdaCli(
+                    new PrintStream(out, true, StandardCharsets.UTF_8)
+                ).run(
+                    "--workers", "2", "--repo", stub.url(),
+                    "--cache", cache, pom, pom
+                )
+            );
+            Assertions.assertEquals(2, stub.served());
+            final String output = out.toString(StandardCharsets.UTF_8);
+            Assertions.assertTrue(
+                output.contains(
+                    "org.example:stub (version 1.0) has newer versions: 2.0; 1.1"
+                )
+            );
+            Assertions.assertTrue(
+                output.contains("Can not analyse org.example:gone:3.0")
+            );
+        }
+    }
+
+    /**
+     * Check that the workers that did not start only skip their artifacts
+     * and do not hold the analysis.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testWorkersFailed() throws Exception {
+        final String pom = this.pom().toString();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long start = System.nanoTime();
+        final int code = new MdaCli(
+            new PrintStream(out, true, StandardCharsets.UTF_8),
+            List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java")
+                    .toString(),
+                "-cp", this.temp.toString(), "org.example.Missing"
+            )
+        ).run("--workers", "2", "--repo", "http://localhost:1", pom);
+        Assertions.assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        Assertions.assertEquals(MdaCli.SKIPPED, code);
+        Assertions.assertTrue(
+            out.toString(StandardCharsets.UTF_8).contains(
+                "Can not analyse org.example:stub:1.0. Worker"
+            )
+        );
+    }
+
+    /**
+     * Check that the workers get the JVM options of the coordinator except
+     * for the agents.
+     */
+    @Test
+    void testLauncher() {
+        final List<String> command = MdaCli.launcher(
+            List.of(
+                "-Xmx256m", "-Dhttps.proxyHost=proxy.example.org",
+                "-agentlib:jdwp=transport=dt_socket,server=y,address=5005",
+                "-javaagent:jacoco.jar"
+            )
+        );
+        Assertions.assertTrue(command.contains("-Xmx256m"));
+        Assertions.assertTrue(
+            command.contains("-Dhttps.proxyHost=proxy.example.org")
+        );
+        Assertions.assertTrue(
+            command.stream().noneMatch(
+                option -> option.startsWith("-agentlib")
+                    || option.startsWith("-javaagent")
+            )
+        );
+        Assertions.assertEquals(
+            MdaCli.class.getName(), command.get(command.size() - 1)
+        );
+    }
+
+    /**
+     * Check that the invalid arguments fail the analysis.
+     */
+    @Test
+    void testInvalid() {
+        final MdaCli cli = new MdaCli(
+            new PrintStream(new ByteArrayOutputStream(), true)
+        );
+        Assertions.assertEquals(MdaCli.FAILED, cli.run("--unknown", "1"));
+        Assertions.assertEquals(MdaCli.FAILED, cli.run("--level"));
+        Assertions.assertEquals(MdaCli.FAILED, cli.run("--workers", "-1"));
+        Assertions.assertEquals(
+            MdaCli.FAILED, cli.run(this.temp.resolve("none.xml").toString())
+        );
+    }
+
+    /**
+     * Create the pom.xml with one outdated and one unknown dependency.
+     *
+     * @return The path to the pom.xml.
+     * @throws Exception If something goes wrong.
+     */
+    private Path pom() throws Exception {
+        return Files.writeString(
+            this.temp.resolve("pom.xml"),
+            String.join(
+                "\n",
+                "<project><modelVersion>4.0.0</modelVersion>",
+                "<groupId>org.example</groupId><artifactId>app</artifactId>",
+                "<version>1.0</version><dependencies><dependency>",
+                "<groupId>org.example</groupId><artifactId>stub</artifactId>",
+                "<version>1.0</version></dependency><dependency>",
+                "<groupId>org.example</groupId><artifactId>gone</artifactId>",
+                "<version>3.0</version></dependency></dependencies>",
+                "</project>"
+            )
+        );
+    }
+}
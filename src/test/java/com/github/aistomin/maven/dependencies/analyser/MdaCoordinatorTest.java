@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MdaCoordinator}.
+ *
+ * @since 4.3
+ */
+final class MdaCoordinatorTest {
+
+    /**
+     * Check that the coordinator splits the artifacts between the workers
+     * and merges their answers.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testCheck() throws Exception {
+        final List<MvnArtifactVersion> versions = new ArrayList<>();
+        for (int idx = 0; idx < 20; idx += 1) {
+            versions.add(
+                MdaWorker.version(String.format("org.example:lib%d:1.0", idx))
+            );
+        }
+        versions.add(MdaWorker.version("org.example:lib0:1.0"));
+        versions.add(MdaWorker.version("org.example:gone:3.0"));
+        versions.add(MdaWorker.version("org.example:fresh:2.0"));
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try (MdaStub stub = new MdaStub(0)) {
+            final List<InetSocketAddress> addresses = new ArrayList<>();
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int idx = 0; idx < 3; idx += 1) {
+                final ServerSocket server = new ServerSocket(
+                    0, 0, InetAddress.getLoopbackAddress()
+                );
+                addresses.add(
+                    new InetSocketAddress(
+                        server.getInetAddress(), server.getLocalPort()
+                    )
+                );
+                workers.add(
+                    executor.submit(
+                        () -> {
+                            try (server) {
+                                new MdaWorker(new MdaLookup(stub.repo()))
+                                    .serve(server);
+                            }
+                            return null;
+                        }
+                    )
+                );
+            }
+            final MdaResult result =
+                new MdaCoordinator(addresses).check(versions);
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+            Assertions.assertEquals(22, stub.served());
+            Assertions.assertEquals(20, result.outdated().size());
+            Assertions.assertEquals(
+                "2.0",
+                result.outdated().get(versions.get(0)).get(0).name()
+            );
+            Assertions.assertEquals(1, result.skipped().size());
+            Assertions.assertTrue(
+                result.skipped().containsKey(
+                    MdaWorker.version("org.example:gone:3.0")
+                )
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Check that the artifacts of the failed workers are skipped while the
+     * rest are still analysed.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFailedWorkers() throws Exception {
+        final List<MvnArtifactVersion> versions = new ArrayList<>();
+        for (int idx = 0; idx < 20; idx += 1) {
+            versions.add(
+                MdaWorker.version(String.format("org.example:lib%d:1.0", idx))
+            );
+        }
+        final InetSocketAddress closed;
+        try (ServerSocket socket = new ServerSocket(
+            0, 0, InetAddress.getLoopbackAddress()
+        )) {
+            closed = new InetSocketAddress(
+                socket.getInetAddress(), socket.getLocalPort()
+            );
+        }
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try (
+            MdaStub stub = new MdaStub(0);
+            ServerSocket server = new ServerSocket(
+                0, 0, InetAddress.getLoopbackAddress()
+            )
+        ) {
+            final Future<?> worker = executor.submit(
+                () -> {
+                    new MdaWorker(new MdaLookup(stub.repo())).serve(server);
+                    return null;
+                }
+            );
+            final MdaResult result = new MdaCoordinator(
+                Arrays.asList(
+                    null, closed,
+                    new InetSocketAddress(
+                        server.getInetAddress(), server.getLocalPort()
+                    )
+                )
+            ).check(versions);
+            worker.get();
+            final MdaShards shards = new MdaShards(3);
+            for (final MvnArtifactVersion version : versions) {
+                if (shards.shard(version.artifact()) == 2) {
+                    Assertions.assertTrue(
+                        result.outdated().containsKey(version)
+                    );
+                } else {
+                    Assertions.assertTrue(
+                        result.skipped().get(version).startsWith(
+                            String.format(
+                                "Worker %d failed",
+                                shards.shard(version.artifact())
+                            )
+                        )
+                    );
+                }
+            }
+            Assertions.assertEquals(
+                result.outdated().size(), stub.served()
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
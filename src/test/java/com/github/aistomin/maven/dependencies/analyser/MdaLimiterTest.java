@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MdaLimiter}.
+ *
+ * @since 4.3
+ */
+final class MdaLimiterTest {
+
+    /**
+     * Check that the limit grows while the latency stays healthy.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testIncrease() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(2, 1, 3);
+        for (int idx = 0; idx < 10; idx += 1) {
+            limiter.acquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        Assertions.assertEquals(3, limiter.limit());
+    }
+
+    /**
+     * Check that the limit shrinks when the latency rises.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testLatency() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(8, 1, 8);
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.acquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.acquire();
+            limiter.release(TimeUnit.SECONDS.toNanos(1));
+        }
+        Assertions.assertTrue(limiter.limit() < 8);
+    }
+
+    /**
+     * Check that the lookups that started before the decrease of the limit do
+     * not count in the following window.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testStale() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(8, 1, 16);
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.acquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        Assertions.assertEquals(9, limiter.limit());
+        for (int idx = 0; idx < 9; idx += 1) {
+            limiter.acquire();
+        }
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.release(TimeUnit.SECONDS.toNanos(1));
+            limiter.acquire();
+        }
+        limiter.release(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(8, limiter.limit());
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.release(TimeUnit.SECONDS.toNanos(1));
+        }
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.acquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        Assertions.assertEquals(9, limiter.limit());
+    }
+
+    /**
+     * Check that the jittery but healthy latency does not shrink the limit.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testJitter() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(4, 1, 64);
+        final Random random = new Random(42L);
+        for (int idx = 0; idx < 500; idx += 1) {
+            limiter.acquire();
+            limiter.release(
+                TimeUnit.MILLISECONDS.toNanos(80 + random.nextInt(200))
+            );
+        }
+        Assertions.assertTrue(limiter.limit() > 4);
+    }
+
+    /**
+     * Check that the limiter backs off when the repository throttles us.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testThrottled() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(8, 1, 8);
+        final Duration delay = Duration.ofMillis(300);
+        limiter.acquire();
+        Assertions.assertTrue(limiter.pause(Duration.ofSeconds(1)));
+        limiter.resume(delay);
+        limiter.throttled();
+        Assertions.assertEquals(4, limiter.limit());
+        final long start = System.nanoTime();
+        limiter.acquire();
+        final long waited = System.nanoTime() - start;
+        Assertions.assertTrue(waited >= delay.toNanos() / 2);
+        Assertions.assertTrue(waited < Duration.ofSeconds(1).toNanos());
+        limiter.failed();
+    }
+
+    /**
+     * Check that the burst of the throttled lookups halves the limit and
+     * starts the pause only once.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testBurst() throws Exception {
+        final MdaLimiter limiter = new MdaLimiter(8, 1, 8);
+        for (int idx = 0; idx < 8; idx += 1) {
+            limiter.acquire();
+        }
+        Assertions.assertTrue(limiter.pause(Duration.ofMillis(100)));
+        for (int idx = 0; idx < 8; idx += 1) {
+            Assertions.assertFalse(limiter.pause(Duration.ofMillis(100)));
+            limiter.throttled();
+        }
+        Assertions.assertEquals(4, limiter.limit());
+    }
+
+    /**
+     * Check that the limiter refuses the invalid limits.
+     */
+    @Test
+    void testInvalid() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> new MdaLimiter(5, 1, 4)
+        );
+    }
+}
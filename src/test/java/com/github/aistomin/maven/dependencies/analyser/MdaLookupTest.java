@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifact;
+import com.github.aistomin.maven.browser.MavenArtifactVersion;
+import com.github.aistomin.maven.browser.MavenCentral;
+import com.github.aistomin.maven.browser.MavenGroup;
+import com.github.aistomin.maven.browser.MvnArtifactVersion;
+import com.github.aistomin.maven.browser.MvnPackagingType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MdaLookup}.
+ *
+ * @since 4.3
+ */
+final class MdaLookupTest {
+
+    /**
+     * Check that the throttled lookups are retried after the delay from the
+     * "Retry-After" header or after the default delay if the repository does
+     * not tell it.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testThrottling() throws Exception {
+        try (MdaStub stub = new MdaStub(2)) {
+            final MdaLimiter limiter = new MdaLimiter(4, 1, 4);
+            final MvnArtifactVersion version = new MavenArtifactVersion(
+                new MavenArtifact(new MavenGroup("org.example"), "stub"),
+                "1.0", MvnPackagingType.JAR, System.currentTimeMillis()
+            );
+            final long start = System.nanoTime();
+            final MdaResult result = new MdaLookup(stub.repo(), limiter)
+                .check(List.of(version));
+            final long elapsed = System.nanoTime() - start;
+            Assertions.assertTrue(elapsed >= 2_000_000_000L);
+            Assertions.assertTrue(elapsed < 4_000_000_000L);
+            Assertions.assertTrue(result.skipped().isEmpty());
+            Assertions.assertEquals(
+                "2.0; 1.1",
+                result.outdated().get(version).stream()
+                    .map(MvnArtifactVersion::name)
+                    .collect(Collectors.joining("; "))
+            );
+            Assertions.assertTrue(limiter.limit() < 4);
+        }
+    }
+
+    /**
+     * Check that the artifact is skipped if the repository asks to wait too
+     * long, and that its slot is released.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testTooLongDelay() throws Exception {
+        try (MdaStub stub = new MdaStub(Integer.MAX_VALUE)) {
+            stub.retryAfter("9999999999");
+            final MdaLimiter limiter = new MdaLimiter(1, 1, 1);
+            final MvnArtifactVersion version =
+                MdaWorker.version("org.example:stub:1.0");
+            final MdaResult result = new MdaLookup(stub.repo(), limiter)
+                .check(List.of(version));
+            Assertions.assertTrue(
+                result.skipped().get(version).contains("longer than")
+            );
+            Assertions.assertTimeoutPreemptively(
+                Duration.ofSeconds(5), limiter::acquire
+            );
+        }
+    }
+
+    /**
+     * Check that the artifacts that can not be analysed are skipped.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testSkipped() throws Exception {
+        final MvnArtifactVersion version = new MavenArtifactVersion(
+            new MavenArtifact(new MavenGroup("org.example"), "missing"),
+            "1.0", MvnPackagingType.JAR, System.currentTimeMillis()
+        );
+        final MdaResult result = new MdaLookup(
+            new MavenCentral("http://localhost:1", "http://localhost:1")
+        ).check(List.of(version));
+        Assertions.assertTrue(result.outdated().isEmpty());
+        Assertions.assertTrue(result.skipped().containsKey(version));
+    }
+
+    /**
+     * Check that every lookup is visible in Java Flight Recorder.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFlightRecorderEvent() throws Exception {
+        final Path dump = Files.createTempFile("mda", ".jfr");
+        final Instant start;
+        try (
+            MdaStub stub = new MdaStub(0);
+            Recording recording = new Recording()
+        ) {
+            recording.enable(MdaLookupEvent.class);
+            start = Instant.now();
+            recording.start();
+            new MdaLookup(stub.repo()).check(
+                List.of(
+                    MdaWorker.version("org.example:stub:1.0"),
+                    MdaWorker.version("org.example:gone:3.0")
+                )
+            );
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump)
+            .stream()
+            .filter(event -> !event.getStartTime().isBefore(start))
+            .filter(
+                event -> event.getEventType().getName().equals(
+                    MdaLookupEvent.class.getAnnotation(Name.class).value()
+                )
+            )
+            .collect(Collectors.toList());
+        Files.delete(dump);
+        Assertions.assertEquals(2, events.size());
+        for (final RecordedEvent event : events) {
+            if ("org.example:stub:1.0".equals(event.getString("coordinate"))) {
+                Assertions.assertEquals(2, event.getInt("newer"));
+                Assertions.assertNull(event.getString("failure"));
+            } else {
+                Assertions.assertEquals(
+                    "org.example:gone:3.0", event.getString("coordinate")
+                );
+                Assertions.assertNotNull(event.getString("failure"));
+            }
+        }
+    }
+}
@@ -15,6 +15,15 @@
  */
 package com.github.aistomin.maven.dependencies.analyser;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.apache.maven.plugin.MojoFailureException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -96,4 +105,50 @@ final class MdaMojoTest {
                 .getResource("sample_pom.xml").getPath()
         ).execute();
     }
+
+    /**
+     * Check that the analysis is visible in Java Flight Recorder.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFlightRecorderEvent() throws Exception {
+        final String pom = Thread.currentThread().getContextClassLoader()
+            .getResource(MdaMojoTest.ERROR_POM_XML).getPath();
+        final Path dump = Files.createTempFile("mda", ".jfr");
+        final Instant start;
+        try (
+            MdaStub stub = new MdaStub(0);
+            Recording recording = new Recording()
+        ) {
+            recording.enable(MdaReportEvent.class);
+            start = Instant.now();
+            recording.start();
+            final MdaMojo mojo = new MdaMojo(FailureLevel.WARNING, pom);
+            mojo.setRepo(stub.url());
+            mojo.execute();
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump)
+            .stream()
+            .filter(event -> !event.getStartTime().isBefore(start))
+            .filter(
+                event -> event.getEventType().getName().equals(
+                    MdaReportEvent.class.getAnnotation(Name.class).value()
+                )
+            )
+            .collect(Collectors.toList());
+        Files.delete(dump);
+        Assertions.assertEquals(1, events.size());
+        final RecordedEvent event = events.get(0);
+        Assertions.assertEquals(pom, event.getString("path"));
+        Assertions.assertEquals(
+            new MdaPom(pom).artifacts().size(), event.getInt("artifacts")
+        );
+        Assertions.assertEquals(
+            event.getInt("artifacts"),
+            event.getInt("outdated") + event.getInt("skipped")
+        );
+    }
 }
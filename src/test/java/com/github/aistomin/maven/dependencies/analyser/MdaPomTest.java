@@ -20,10 +20,16 @@ import com.github.aistomin.maven.browser.MavenArtifactVersion;
 import com.github.aistomin.maven.browser.MavenGroup;
 import com.github.aistomin.maven.browser.MvnArtifactVersion;
 import com.github.aistomin.maven.browser.MvnPackagingType;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test for {@link MdaPom}.
@@ -155,4 +161,100 @@ final class MdaPomTest {
             new MdaPom(this.parentlessSample).parent()
         );
     }
+
+    /**
+     * Check that we can find the parent's pom.xml file on the disk.
+     *
+     * @param temp Temporary directory.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testParentFile(@TempDir final Path temp) throws Exception {
+        final Path parent = Files.writeString(
+            temp.resolve("pom.xml"),
+            "<project><modelVersion>4.0.0</modelVersion></project>"
+        );
+        final Path module = Files.createDirectory(temp.resolve("module"));
+        final Path child = Files.writeString(
+            module.resolve("pom.xml"),
+            String.join(
+                "",
+                "<project><modelVersion>4.0.0</modelVersion><parent>",
+                "<groupId>org.example</groupId><artifactId>parent</artifactId>",
+                "<version>1.0</version></parent></project>"
+            )
+        );
+        Assertions.assertEquals(
+            parent.toFile(), new MdaPom(child.toFile()).parentFile()
+        );
+        Assertions.assertNull(new MdaPom(parent.toFile()).parentFile());
+        Assertions.assertNull(new MdaPom(this.sample).parentFile());
+    }
+
+    /**
+     * Check that the versions set as properties are resolved through the
+     * local parents and that the closer pom.xml wins.
+     *
+     * @param temp Temporary directory.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testParentProperties(@TempDir final Path temp) throws Exception {
+        Files.writeString(
+            temp.resolve("pom.xml"),
+            String.join(
+                "",
+                "<project><modelVersion>4.0.0</modelVersion><properties>",
+                "<first.version>1.0</first.version>",
+                "<second.version>1.0</second.version>",
+                "</properties></project>"
+            )
+        );
+        final Path module = Files.createDirectory(temp.resolve("module"));
+        final Path child = Files.writeString(
+            module.resolve("pom.xml"),
+            String.join(
+                "",
+                "<project><modelVersion>4.0.0</modelVersion><parent>",
+                "<groupId>org.example</groupId><artifactId>parent</artifactId>",
+                "<version>1.0</version></parent><properties>",
+                "<second.version>2.0</second.version></properties>",
+                "<dependencies><dependency><groupId>org.example</groupId>",
+                "<artifactId>first</artifactId>",
+                "<version>${first.version}</version></dependency>",
+                "<dependency><groupId>org.example</groupId>",
+                "<artifactId>second</artifactId>",
+                "<version>${second.version}</version></dependency>",
+                "</dependencies></project>"
+            )
+        );
+        final List<MvnArtifactVersion> dependencies =
+            new MdaPom(child.toFile()).dependencies();
+        Assertions.assertEquals(2, dependencies.size());
+        Assertions.assertEquals("1.0", dependencies.get(0).name());
+        Assertions.assertEquals("2.0", dependencies.get(1).name());
+    }
+
+    /**
+     * Check that parsing of the pom.xml is visible in Java Flight Recorder.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFlightRecorderEvent() throws Exception {
+        final Path dump = Files.createTempFile("mda", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MdaPomEvent.class);
+            recording.start();
+            new MdaPom(this.sample).plugins();
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(
+            this.sample, events.get(0).getString("path")
+        );
+    }
 }
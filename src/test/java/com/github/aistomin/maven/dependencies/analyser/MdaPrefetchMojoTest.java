@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MdaPrefetchMojo}.
+ *
+ * @since 4.3
+ */
+final class MdaPrefetchMojoTest {
+
+    /**
+     * The pom file with the parent artifact.
+     */
+    private final String sample = Thread
+        .currentThread()
+        .getContextClassLoader()
+        .getResource("sample_pom.xml")
+        .getPath();
+
+    /**
+     * Check that the prefetched lookups are collected by the "check" goal
+     * and are not repeated.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testPrefetch() throws Exception {
+        try (MdaStub stub = new MdaStub(0)) {
+            final Map<Object, Object> context = new HashMap<>();
+            final MdaPrefetchMojo prefetch =
+                new MdaPrefetchMojo(this.sample, true);
+            prefetch.setRepo(stub.url());
+            prefetch.setPluginContext(context);
+            prefetch.execute();
+            final Object started =
+                context.get(MdaPrefetch.key(this.sample, stub.url()));
+            Assertions.assertInstanceOf(MdaPrefetch.class, started);
+            Assertions.assertEquals(
+                new MdaPom(this.sample).artifacts(),
+                ((MdaPrefetch) started).artifacts()
+            );
+            ((MdaPrefetch) started).result();
+            final int served = stub.served();
+            Assertions.assertTrue(served > 0);
+            final MdaMojo check =
+                new MdaMojo(FailureLevel.WARNING, this.sample);
+            check.setRepo(stub.url());
+            check.setPluginContext(context);
+            check.execute();
+            Assertions.assertTrue(context.isEmpty());
+            Assertions.assertEquals(served, stub.served());
+        }
+    }
+
+    /**
+     * Check that the "check" goal looks the artifacts up on its own when the
+     * prefetch failed.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testFailed() throws Exception {
+        try (MdaStub stub = new MdaStub(0)) {
+            final Map<Object, Object> context = new HashMap<>();
+            final MdaPrefetch prefetch = new MdaPrefetch(
+                new MdaPom(this.sample).artifacts(),
+                versions -> {
+                    throw new IllegalStateException("Broken lookup.");
+                }
+            );
+            Assertions.assertThrows(ExecutionException.class, prefetch::result);
+            context.put(MdaPrefetch.key(this.sample, stub.url()), prefetch);
+            final MdaMojo check =
+                new MdaMojo(FailureLevel.WARNING, this.sample);
+            check.setRepo(stub.url());
+            check.setPluginContext(context);
+            check.execute();
+            Assertions.assertTrue(context.isEmpty());
+            Assertions.assertEquals(
+                new MdaPom(this.sample).artifacts().size(), stub.served()
+            );
+        }
+    }
+
+    /**
+     * Check that the "check" goal does not use the lookups that were
+     * prefetched from another repository.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testOtherRepository() throws Exception {
+        try (MdaStub first = new MdaStub(0); MdaStub second = new MdaStub(0)) {
+            final Map<Object, Object> context = new HashMap<>();
+            final MdaPrefetchMojo prefetch =
+                new MdaPrefetchMojo(this.sample, true);
+            prefetch.setRepo(first.url());
+            prefetch.setPluginContext(context);
+            prefetch.execute();
+            final MdaMojo check =
+                new MdaMojo(FailureLevel.WARNING, this.sample);
+            check.setRepo(second.url());
+            check.setPluginContext(context);
+            check.execute();
+            Assertions.assertEquals(
+                new MdaPom(this.sample).artifacts().size(), second.served()
+            );
+        }
+    }
+
+    /**
+     * Check that the disabled prefetch does not start the lookups.
+     */
+    @Test
+    void testDisabled() {
+        final Map<Object, Object> context = new HashMap<>();
+        final MdaPrefetchMojo prefetch = new MdaPrefetchMojo(this.sample, false);
+        prefetch.setPluginContext(context);
+        prefetch.execute();
+        Assertions.assertTrue(context.isEmpty());
+        new MdaPrefetchMojo().execute();
+    }
+
+    /**
+     * Check that the prefetched result is the result of the lookup.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testResult() throws Exception {
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaPrefetch prefetch = new MdaPrefetch(
+                List.of(MdaWorker.version("org.example:stub:1.1")),
+                new MdaLookup(stub.repo())
+            );
+            Assertions.assertEquals(
+                "org.example:stub (version 1.1) has newer versions: 2.0",
+                prefetch.result().report().trim()
+            );
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenArtifact;
+import com.github.aistomin.maven.browser.MavenGroup;
+import com.github.aistomin.maven.browser.MvnArtifact;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MdaShards}.
+ *
+ * @since 4.3
+ */
+final class MdaShardsTest {
+
+    /**
+     * Check that the artifacts are spread over all the shards and that adding
+     * a shard moves only a small part of them.
+     */
+    @Test
+    void testConsistency() {
+        final List<MvnArtifact> artifacts = new ArrayList<>();
+        for (int idx = 0; idx < 1000; idx += 1) {
+            artifacts.add(
+                new MavenArtifact(
+                    new MavenGroup(String.format("org.example%d", idx % 7)),
+                    String.format("artifact-%d", idx)
+                )
+            );
+        }
+        final MdaShards four = new MdaShards(4);
+        final MdaShards five = new MdaShards(5);
+        final int[] sizes = new int[4];
+        int moved = 0;
+        for (final MvnArtifact artifact : artifacts) {
+            final int shard = four.shard(artifact);
+            Assertions.assertEquals(shard, new MdaShards(4).shard(artifact));
+            sizes[shard] += 1;
+            if (shard != five.shard(artifact)) {
+                moved += 1;
+            }
+        }
+        for (final int size : sizes) {
+            Assertions.assertTrue(size > 150);
+        }
+        Assertions.assertTrue(moved < 300);
+    }
+
+    /**
+     * Check that the invalid amount of the shards is refused.
+     */
+    @Test
+    void testInvalid() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> new MdaShards(0)
+        );
+    }
+}
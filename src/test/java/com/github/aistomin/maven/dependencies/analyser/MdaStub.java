@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import com.github.aistomin.maven.browser.MavenCentral;
+import com.github.aistomin.maven.browser.MvnRepo;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stub of the Maven repository. Every artifact has the versions 1.0, 1.1
+ * and 2.0. The stub can throttle the first requests with HTTP 429 or fail them
+ * with HTTP 500.
+ *
+ * @since 4.3
+ */
+final class MdaStub implements AutoCloseable {
+
+    /**
+     * The metadata of every artifact.
+     */
+    private static final byte[] METADATA = String.join(
+        "",
+        "<metadata><versioning><versions>",
+        "<version>1.0</version>",
+        "<version>1.1</version>",
+        "<version>2.0</version>",
+        "</versions></versioning></metadata>"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The amount of the GET requests that are still going to be throttled.
+     */
+    private final AtomicInteger throttled;
+
+    /**
+     * The amount of the GET requests that are still going to fail.
+     */
+    private final AtomicInteger failing;
+
+    /**
+     * The value of the "Retry-After" header of the throttled requests.
+     */
+    private volatile String delay;
+
+    /**
+     * The amount of the served metadata files.
+     */
+    private final AtomicInteger served;
+
+    /**
+     * Ctor.
+     *
+     * @param throttle The amount of the GET requests to throttle.
+     * @throws IOException If the server can not be started.
+     */
+    MdaStub(final int throttle) throws IOException {
+        this(throttle, 0);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param throttle The amount of the GET requests to throttle.
+     * @param fail The amount of the GET requests to fail after the throttled
+     *  ones.
+     * @throws IOException If the server can not be started.
+     */
+    MdaStub(final int throttle, final int fail) throws IOException {
+        this.throttled = new AtomicInteger(throttle);
+        this.failing = new AtomicInteger(fail);
+        this.delay = "1";
+        this.served = new AtomicInteger();
+        this.server = HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0
+        );
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * The repository that is backed by this stub.
+     *
+     * @return The repository.
+     */
+    MvnRepo repo() {
+        return new MavenCentral(this.url(), this.url());
+    }
+
+    /**
+     * The URL of this stub.
+     *
+     * @return The URL.
+     */
+    String url() {
+        return String.format(
+            "http://localhost:%d", this.server.getAddress().getPort()
+        );
+    }
+
+    /**
+     * The amount of the served metadata files.
+     *
+     * @return The amount.
+     */
+    int served() {
+        return this.served.get();
+    }
+
+    /**
+     * Set the value of the "Retry-After" header of the throttled requests.
+     *
+     * @param value The value of the header.
+     */
+    void retryAfter(final String value) {
+        this.delay = value;
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Handle the request.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException If the response can not be sent.
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        if (this.throttled.get() > 0) {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                this.throttled.decrementAndGet();
+            }
+            exchange.getResponseHeaders().add("Retry-After", this.delay);
+            exchange.sendResponseHeaders(429, -1);
+        } else if ("GET".equals(exchange.getRequestMethod())
+            && this.failing.getAndDecrement() > 0) {
+            exchange.sendResponseHeaders(500, -1);
+        } else {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                this.served.incrementAndGet();
+            }
+            exchange.sendResponseHeaders(200, MdaStub.METADATA.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(MdaStub.METADATA);
+            }
+        }
+        exchange.close();
+    }
+}
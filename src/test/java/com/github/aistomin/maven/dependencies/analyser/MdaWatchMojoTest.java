@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link MdaWatchMojo}.
+ *
+ * @since 4.3
+ */
+final class MdaWatchMojoTest {
+
+    /**
+     * Check that the goal returns at once when it is disabled.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testDisabled() throws Exception {
+        new MdaWatchMojo("missing.xml", false).execute();
+    }
+
+    /**
+     * Check that the goal looks the artifacts up in the configured repository
+     * and stops when it is interrupted.
+     *
+     * @param temp Temporary directory.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testWatch(@TempDir final Path temp) throws Exception {
+        final Path pom = Files.writeString(
+            temp.resolve("pom.xml"),
+            String.join(
+                "",
+                "<project><modelVersion>4.0.0</modelVersion>",
+                "<groupId>org.example</groupId><artifactId>app</artifactId>",
+                "<version>1.0</version><dependencies><dependency>",
+                "<groupId>org.example</groupId><artifactId>first</artifactId>",
+                "<version>1.0</version></dependency></dependencies></project>"
+            )
+        );
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaWatchMojo mojo = new MdaWatchMojo(pom.toString(), true);
+            mojo.setRepo(stub.url());
+            final Thread thread = new Thread(
+                () -> {
+                    try {
+                        mojo.execute();
+                    } catch (final Exception ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            );
+            thread.start();
+            final long deadline =
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (stub.served() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            Assertions.assertTrue(stub.served() > 0);
+            Assertions.assertFalse(thread.isAlive());
+        }
+    }
+}
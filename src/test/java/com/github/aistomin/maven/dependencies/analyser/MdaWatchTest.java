@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019-2022, Istomin Andrei
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.aistomin.maven.dependencies.analyser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link MdaWatch}.
+ *
+ * @since 4.3
+ */
+final class MdaWatchTest {
+
+    /**
+     * Temporary directory.
+     */
+    @TempDir
+    private Path temp;
+
+    /**
+     * Check that only the added or changed artifacts are looked up again.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testRefresh() throws Exception {
+        final Path pom = this.pom("1.0", "1.1");
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaWatch watch =
+                new MdaWatch(pom.toFile(), new MdaLookup(stub.repo()));
+            Assertions.assertEquals(2, watch.refresh().outdated().size());
+            Assertions.assertEquals(2, watch.changed());
+            Assertions.assertEquals(2, watch.refresh().outdated().size());
+            Assertions.assertEquals(0, watch.changed());
+            this.pom("2.0", "1.1");
+            final MdaResult result = watch.refresh();
+            Assertions.assertEquals(1, watch.changed());
+            Assertions.assertEquals(3, stub.served());
+            Assertions.assertEquals(
+                "org.example:second (version 1.1) has newer versions: 2.0",
+                result.report().trim()
+            );
+        }
+    }
+
+    /**
+     * Check that the artifacts that could not be analysed are looked up again
+     * on the next refresh.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testRecovered() throws Exception {
+        final Path pom = this.pom("1.0", "1.1");
+        try (MdaStub stub = new MdaStub(0, 1)) {
+            final MdaWatch watch =
+                new MdaWatch(pom.toFile(), new MdaLookup(stub.repo()));
+            final MdaResult failed = watch.refresh();
+            Assertions.assertEquals(1, failed.skipped().size());
+            Assertions.assertEquals(1, failed.outdated().size());
+            final MdaResult recovered = watch.refresh();
+            Assertions.assertEquals(1, watch.changed());
+            Assertions.assertTrue(recovered.skipped().isEmpty());
+            Assertions.assertEquals(2, recovered.outdated().size());
+            watch.refresh();
+            Assertions.assertEquals(0, watch.changed());
+        }
+    }
+
+    /**
+     * Check that the report is updated when the pom.xml file is saved.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testRun() throws Exception {
+        final Path pom = this.pom("1.0", "1.1");
+        final BlockingQueue<MdaResult> results = new LinkedBlockingQueue<>();
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaWatch watch =
+                new MdaWatch(pom.toFile(), new MdaLookup(stub.repo()));
+            final Thread thread = new Thread(
+                () -> {
+                    try {
+                        watch.run(results::add);
+                    } catch (final Exception ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            );
+            thread.start();
+            Assertions.assertEquals(
+                2, results.poll(10, TimeUnit.SECONDS).outdated().size()
+            );
+            this.pom("2.0", "2.0");
+            MdaResult result = results.poll(10, TimeUnit.SECONDS);
+            while (result != null && !result.outdated().isEmpty()) {
+                result = results.poll(10, TimeUnit.SECONDS);
+            }
+            thread.interrupt();
+            thread.join();
+            Assertions.assertNotNull(result);
+            Assertions.assertTrue(result.skipped().isEmpty());
+        }
+    }
+
+    /**
+     * Check that the saves that follow each other quickly are analysed once.
+     *
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    void testSettle() throws Exception {
+        final Path pom = this.pom("1.0", "1.1");
+        final BlockingQueue<MdaResult> results = new LinkedBlockingQueue<>();
+        try (MdaStub stub = new MdaStub(0)) {
+            final MdaWatch watch =
+                new MdaWatch(pom.toFile(), new MdaLookup(stub.repo()));
+            final Thread thread = new Thread(
+                () -> {
+                    try {
+                        watch.run(results::add);
+                    } catch (final Exception ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            );
+            thread.start();
+            Assertions.assertNotNull(results.poll(10, TimeUnit.SECONDS));
+            this.pom("1.0", "1.2");
+            this.pom("1.0", "1.3");
+            this.pom("2.0", "2.0");
+            final MdaResult result = results.poll(10, TimeUnit.SECONDS);
+            final MdaResult extra = results.poll(1, TimeUnit.SECONDS);
+            thread.interrupt();
+            thread.join();
+            Assertions.assertNotNull(result);
+            Assertions.assertTrue(result.outdated().isEmpty());
+            Assertions.assertNull(extra);
+        }
+    }
+
+    /**
+     * Write the pom.xml with two dependencies.
+     *
+     * @param first The version of the first dependency.
+     * @param second The version of the second dependency.
+     * @return The path to the pom.xml.
+     * @throws Exception If something goes wrong.
+     */
+    private Path pom(final String first, final String second)
+        throws Exception {
+        return Files.writeString(
+            this.temp.resolve("pom.xml"),
+            String.join(
+                "\n",
+                "<project><modelVersion>4.0.0</modelVersion>",
+                "<groupId>org.example</groupId><artifactId>app</artifactId>",
+                "<version>1.0</version><dependencies><dependency>",
+                "<groupId>org.example</groupId><artifactId>first</artifactId>",
+                String.format("<version>%s</version>", first),
+                "</dependency><dependency>",
+                "<groupId>org.example</groupId><artifactId>second</artifactId>",
+                String.format("<version>%s</version>", second),
+                "</dependency></dependencies></project>"
+            )
+        );
+    }
+}